@@ -2,9 +2,10 @@ package assignments.assignment4;
 
 import algorithms.HeapSort;
 import data_srtuctures.Graph;
+import data_srtuctures.GraphLoader;
 
-import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.util.*;
@@ -36,33 +37,15 @@ class ProblemAGraph<Data extends Comparable<Data>> extends Graph<Data> {
      * @param path path to file
      * @return New graph, builded from data in file
      */
-    public static ProblemAGraph<String> loadFromFile(String path) throws FileNotFoundException {
-        // reading data from file
-        File file = new File(path);
-        String vertices[];
-        String edges[];
-        Scanner sc = new Scanner(file);
-        vertices = sc.nextLine().split(" ");
-        edges = sc.nextLine().split(" ");
-        sc.close();
-
-        // creation and initialisation of graph
-        ProblemAGraph<String> graph = new ProblemAGraph<>();
-
-        for(String data : vertices) {
-            graph.addData(data);
-        }
-
-        for(int i = 0; i < edges.length; i+=2) {
-            graph.addEdge(edges[i], edges[i+1]);
-        }
+    public static ProblemAGraph<String> loadFromFile(String path) throws IOException {
+        ProblemAGraph<String> graph = GraphLoader.load(path, new ProblemAGraph<String>());
 
         return graph;
     }
 }
 
 public class ProblemA {
-    public static void main(String[] args) throws FileNotFoundException, UnsupportedEncodingException {
+    public static void main(String[] args) throws IOException {
         ProblemAGraph<String> graph;
         graph = ProblemAGraph.loadFromFile("cities.txt");
         String[] cities = new String[]{"Donetsk-DU", "Kiev-U", "Lviv-U", "Batumi-G", "Rostov-R"};
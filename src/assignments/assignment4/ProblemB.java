@@ -1,26 +1,27 @@
 package assignments.assignment4;
 
 import data_srtuctures.Graph;
+import data_srtuctures.GraphLoader;
 
-import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.function.BiPredicate;
 
 /**
  * Created by litleleprikon on 01/12/15.
  * Class to solve problem B
  */
 public class ProblemB {
-    public static void main(String[] args) throws FileNotFoundException, UnsupportedEncodingException {
+    public static void main(String[] args) throws IOException {
         ProblemBGraph<String> graph = ProblemBGraph.loadFromFile("cities.txt");
         String[] results = new String[2];
         results[0] = graph.canVisitAllFrom("Rostov-R");
         try {
-            graph.removeEdge("Vladikavkaz-R", "Tbilisi-G");
-            results[1] = graph.canVisitAllFrom("Rostov-R");
+            results[1] = graph.getCutIndex().isConnectedWithout("Vladikavkaz-R", "Tbilisi-G") ? "yes" : "no";
         }
         catch (Graph.GraphNotContainsThisEdgeError e) {
             results[1] = results[0]; // just a little optimisation
@@ -50,70 +51,31 @@ class ProblemBGraph<Data extends Comparable<Data>> extends Graph<Data> {
         return city.substring(city.lastIndexOf('-') + 1);
     }
 
-    private void setAllToUnvisited() {
-        for(Vertex vertex : vertices) {
-            vertex.clearVisited();
-        }
-    }
-
     /**
-     * Method to delete all edges between from U cities if was transfer from R city to DU
-     * @param from from city
-     * @param to to city
+     * Rule to delete all edges between from U cities if was transfer from R city to DU
      */
-    private void firstConstraint(Data from, Data to) {
-        String fromCountry = getCoutry((String)from);
-        String toCountry = getCoutry((String)to);
-        if(Objects.equals(fromCountry, "R") && Objects.equals(toCountry, "DU")) {
-            removeEdge(from, to);
-        }
-    }
+    private static final BiPredicate<String, String> FIRST_CONSTRAINT =
+            (from, to) -> Objects.equals(from, "R") && Objects.equals(to, "DU");
 
     /**
-     * Method to delete all edges between from G cities if was transfer from R city to DG
-     * @param from from city
-     * @param to to city
+     * Rule to delete all edges between from G cities if was transfer from R city to DG
      */
-    private void secondConstraint(Data from, Data to) {
-        String fromCountry = getCoutry((String)from);
-        String toCountry = getCoutry((String)to);
-        if(Objects.equals(fromCountry, "R") && Objects.equals(toCountry, "DG")) {
-            removeEdge(from, to);
-        }
-    }
+    private static final BiPredicate<String, String> SECOND_CONSTRAINT =
+            (from, to) -> Objects.equals(from, "R") && Objects.equals(to, "DG");
 
     /**
      * Method to define,
      * @return
      */
     public String canVisitAllFrom(Data from) {
-        Vertex start = getVertex(from);
-        checkVertex(start, from);
-        start.dfs();
-        for(Vertex vertex : vertices) {
-            if(!vertex.isVisited()) {
-                setAllToUnvisited();
-                return "no";
-            }
-        }
-        setAllToUnvisited();
-        return "yes";
+        return isAllReachableFrom(from) ? "yes" : "no";
     }
 
-    private void runFirstConstraint() {
-        for(Vertex from : vertices) {
-            for(Vertex to : from.getNeighbourVertices()) {
-                firstConstraint(from.getData(), to.getData());
-            }
-        }
-    }
-
-    private void runSecondConstraint() {
-        for(Vertex from : vertices) {
-            for(Vertex to : from.getNeighbourVertices()) {
-                secondConstraint(from.getData(), to.getData());
-            }
-        }
+    /**
+     * Method to delete all edges that match constraints, country of every city is found only once
+     */
+    private void runConstraints() {
+        removeEdgesIf(city -> getCoutry((String)city), Arrays.asList(FIRST_CONSTRAINT, SECOND_CONSTRAINT), false);
     }
 
     /**
@@ -124,29 +86,10 @@ class ProblemBGraph<Data extends Comparable<Data>> extends Graph<Data> {
      * @param path path to file
      * @return New graph, builded from data in file
      */
-    public static ProblemBGraph<String> loadFromFile(String path) throws FileNotFoundException {
-        // reading data from file
-        File file = new File(path);
-        String vertices[];
-        String edges[];
-        Scanner sc = new Scanner(file);
-        vertices = sc.nextLine().split(" ");
-        edges = sc.nextLine().split(" ");
-        sc.close();
-
-        // creation and initialisation of graph
-        ProblemBGraph<String> graph = new ProblemBGraph<>();
-
-        for(String data : vertices) {
-            graph.addData(data);
-        }
-
-        for(int i = 0; i < edges.length; i+=2) {
-            graph.addEdge(edges[i], edges[i+1]);
-        }
+    public static ProblemBGraph<String> loadFromFile(String path) throws IOException {
+        ProblemBGraph<String> graph = GraphLoader.load(path, new ProblemBGraph<String>());
 
-        graph.runFirstConstraint();
-        graph.runSecondConstraint();
+        graph.runConstraints();
 
         return graph;
     }
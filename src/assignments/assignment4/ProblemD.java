@@ -1,14 +1,15 @@
 package assignments.assignment4;
 
 import data_srtuctures.Graph;
+import data_srtuctures.GraphLoader;
 
-import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.function.BiPredicate;
 
 /**
  * Created by litleleprikon on 01/12/15.
@@ -29,160 +30,30 @@ class ProblemDGraph<Data extends Comparable<Data>> extends Graph<Data> {
     }
 
     /**
-     * Method to set weights in all vertices to infinities
+     * Rule to delete all edges between from U cities if was transfer from R city to DU
      */
-    private void setAllWeightsToinfinity(){
-        for(Vertex vertex : vertices) {
-            vertex.setWeight(Integer.MAX_VALUE);
-        }
-    }
+    private static final BiPredicate<String, String> FIRST_CONSTRAINT =
+            (from, to) -> Objects.equals(from, "R") && Objects.equals(to, "DU");
 
     /**
-     * Method, that visits all vertices in graph and sets it to unvisited
+     * Rule to delete all edges between from G cities if was transfer from R city to DG
      */
-    private void setAllToUnvisited() {
-        for(Vertex vertex : vertices) {
-            vertex.clearVisited();
-        }
-    }
-
-    /**
-     * Method to delete all edges between from U cities if was transfer from R city to DU
-     * @param from from city
-     * @param to to city
-     */
-    private void firstConstraint(Data from, Data to) {
-        String fromCountry = getCoutry((String)from);
-        String toCountry = getCoutry((String)to);
-        if(Objects.equals(fromCountry, "R") && Objects.equals(toCountry, "DU")) {
-            removeEdge(from, to);
-        }
-    }
-
-    /**
-     * Method to delete all edges between from G cities if was transfer from R city to DG
-     * @param from from city
-     * @param to to city
-     */
-    private void secondConstraint(Data from, Data to) {
-        String fromCountry = getCoutry((String)from);
-        String toCountry = getCoutry((String)to);
-        if(Objects.equals(fromCountry, "R") && Objects.equals(toCountry, "DG")) {
-            removeEdge(from, to);
-        }
-    }
+    private static final BiPredicate<String, String> SECOND_CONSTRAINT =
+            (from, to) -> Objects.equals(from, "R") && Objects.equals(to, "DG");
 
     /**
      * Method to define,
      * @return
      */
     public String canVisitAllFrom(Data from) {
-        Vertex start = getVertex(from);
-        checkVertex(start, from);
-        start.dfs();
-        for(Vertex vertex : vertices) {
-            if(!vertex.isVisited()) {
-                setAllToUnvisited();
-                return "no";
-            }
-        }
-        setAllToUnvisited();
-        return "yes";
-    }
-
-    private void runFirstConstraint() {
-        for(Vertex from : vertices) {
-            for(Vertex to : from.getNeighbourVertices()) {
-                firstConstraint(from.getData(), to.getData());
-            }
-        }
-    }
-
-    private void runSecondConstraint() {
-        for(Vertex from : vertices) {
-            for(Vertex to : from.getNeighbourVertices()) {
-                secondConstraint(from.getData(), to.getData());
-            }
-        }
+        return isAllReachableFrom(from) ? "yes" : "no";
     }
 
     /**
-     * Method returns first unvisited vertex
-     * @return
+     * Method to delete all edges that match constraints, country of every city is found only once
      */
-    private Vertex getFirstUnvisitedVertex() {
-        for(Vertex vertex : vertices) {
-            if(!vertex.isVisited()) {
-                return vertex;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Method to find vertex with minimal weight in all graph
-     * @return
-     */
-    private Vertex getVertexWithMinimalWeight() {
-        Vertex minimal = getFirstUnvisitedVertex();
-        if(minimal == null) {
-            return null;
-        }
-        for(Vertex vertex : vertices) {
-            if(vertex.getWeight() < minimal.getWeight() && !vertex.isVisited()) {
-                minimal = vertex;
-            }
-        }
-        return minimal;
-    }
-
-    /**
-     * Method that go from end vertex to first and constructs path
-     * @param vertexStart
-     * @param vertexFinish
-     * @return path
-     */
-    private LinkedList<Vertex> getPath(Vertex vertexStart, Vertex vertexFinish ) {
-        LinkedList<Vertex> result;
-        if(vertexFinish == vertexStart) {
-            result = new LinkedList<>();
-            result.add(vertexFinish);
-            return result;
-        }
-        vertexFinish.setVisited();
-        result = getPath(vertexStart, vertexFinish.getEdgeWithMinimalNotVisitedVertex().getTo());
-        result.add(vertexFinish);
-        return result;
-    }
-
-    /**
-     * Implementation of Dijstra's algorithm
-     * @param from data of first vertex in the path
-     * @param to data of last vertex int the path
-     * @return Linked list of all vertexes in path
-     */
-    public LinkedList<Vertex> dijkstra(Data from, Data to) {
-        setAllToUnvisited();
-        setAllWeightsToinfinity();
-        Vertex fromVertex = getVertex(from);
-        checkVertex(fromVertex, from);
-
-        fromVertex.setWeight(0);
-
-        Vertex toVertex = getVertex(to);
-        checkVertex(toVertex, to);
-
-        Vertex temp;
-
-        while (true){
-            temp = getVertexWithMinimalWeight();
-            if(temp == null) {
-                break;
-            }
-            temp.dijkstra();
-        }
-        setAllToUnvisited();
-        return getPath(fromVertex, toVertex);
+    private void runConstraints() {
+        removeEdgesIf(city -> getCoutry((String)city), Arrays.asList(FIRST_CONSTRAINT, SECOND_CONSTRAINT), false);
     }
 
     /**
@@ -193,29 +64,10 @@ class ProblemDGraph<Data extends Comparable<Data>> extends Graph<Data> {
      * @param path path to file
      * @return New graph, builded from data in file
      */
-    public static ProblemDGraph<String> loadFromFile(String path) throws FileNotFoundException {
-        // reading data from file
-        File file = new File(path);
-        String vertices[];
-        String edges[];
-        Scanner sc = new Scanner(file);
-        vertices = sc.nextLine().split(" ");
-        edges = sc.nextLine().split(" ");
-        sc.close();
-
-        // creation and initialisation of graph
-        ProblemDGraph<String> graph = new ProblemDGraph<>();
-
-        for(String data : vertices) {
-            graph.addData(data);
-        }
-
-        for(int i = 0; i < edges.length; i+=2) {
-            graph.addEdge(edges[i], edges[i+1]);
-        }
+    public static ProblemDGraph<String> loadFromFile(String path) throws IOException {
+        ProblemDGraph<String> graph = GraphLoader.load(path, new ProblemDGraph<String>());
 
-        graph.runFirstConstraint();
-        graph.runSecondConstraint();
+        graph.runConstraints();
 
         return graph;
     }
@@ -226,25 +78,25 @@ class ProblemDGraph<Data extends Comparable<Data>> extends Graph<Data> {
  * Class to solve problem C
  */
 public class ProblemD {
-    public static void main(String[] args) throws FileNotFoundException, UnsupportedEncodingException {
+    public static void main(String[] args) throws IOException {
         ProblemDGraph<String> graph = ProblemDGraph.loadFromFile("cities.txt");
-        LinkedList<Graph<String>.Vertex> first = graph.dijkstra("Melitopol-U", "Rostov-R");
-        LinkedList<Graph<String>.Vertex> second = graph.dijkstra("Sukhumi-DG", "Lugansk-DU");
+        Graph<String>.Path first = graph.shortestPath("Melitopol-U", "Rostov-R");
+        Graph<String>.Path second = graph.shortestPath("Sukhumi-DG", "Lugansk-DU");
         writeResults(first, second);
     }
 
-    private static void writeResults(LinkedList<Graph<String>.Vertex> first, LinkedList<Graph<String>.Vertex> second)
+    private static void writeResults(Graph<String>.Path first, Graph<String>.Path second)
             throws FileNotFoundException, UnsupportedEncodingException {
         PrintWriter writer;
         writer = new PrintWriter("travel-now.txt", "UTF-8");
-        writer.print(first.size()-1 + " ");
-        for(Graph.Vertex vertex : first) {
+        writer.print(first.getLength() + " ");
+        for(Graph<String>.Vertex vertex : first) {
             writer.print(vertex.getData() + " ");
         }
         writer.println();
 
-        writer.print(second.size()-1 + " ");
-        for(Graph.Vertex vertex : second) {
+        writer.print(second.getLength() + " ");
+        for(Graph<String>.Vertex vertex : second) {
             writer.print(vertex.getData() + " ");
         }
         writer.println();
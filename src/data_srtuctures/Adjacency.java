@@ -0,0 +1,24 @@
+package data_srtuctures;
+
+/**
+ * Read access to neighbours of vertices given by their indexes
+ * Lets searches that need only structure of graph, such as bidirectional breadth first search,
+ * run on mutable and frozen graph without copies of code
+ */
+public interface Adjacency {
+
+    /**
+     * Getter of quantity of neighbours of vertex
+     * @param vertex index of vertex
+     * @return degree of vertex
+     */
+    int getDegree(int vertex);
+
+    /**
+     * Method to get neighbour of vertex
+     * @param vertex index of vertex
+     * @param i number of neighbour, from 0 to degree of vertex
+     * @return index of neighbour
+     */
+    int getNeighbour(int vertex, int i);
+}
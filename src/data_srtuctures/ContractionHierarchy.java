@@ -0,0 +1,601 @@
+package data_srtuctures;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contraction hierarchy over frozen graph for fast point-to-point shortest path queries
+ * On preprocessing vertices are contracted one by one in order of their importance, shortcuts are added between
+ * neighbours of contracted vertex if path through it has no witness. Every vertex keeps only edges to vertices
+ * contracted after it (upward edges), so query is bidirectional Dijkstra's algorithm that goes only upwards
+ * and settles a small part of graph. Shortcuts remember contracted vertex, so paths are unpacked to original edges.
+ *
+ * Hierarchy can be written to file next to snapshot of graph, layout:
+ * magic, version, vertex count V, upward edge count E, int[V] ranks, int[V + 1] offsets,
+ * int[E] targets, int[E] weights, int[E] middle vertices of shortcuts (-1 for original edges)
+ */
+public class ContractionHierarchy<Data extends Comparable<Data>> {
+
+    /**
+     * Exception that raises on opening of file that is not contraction hierarchy or is damaged
+     */
+    public static class NotHierarchyError extends Error {
+        public NotHierarchyError(String path) {
+            super("File is not contraction hierarchy or has unsupported version: " + path);
+        }
+    }
+
+    /**
+     * First int of every file of hierarchy
+     */
+    private static final int MAGIC = 0x4753434B;
+
+    /**
+     * Version of format
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Quantity of ints in header
+     */
+    private static final int HEADER_SIZE = 4;
+
+    /**
+     * Quantity of vertices that witness search settles before it gives up and shortcut is added
+     */
+    private static final int SETTLE_LIMIT = 64;
+
+    /**
+     * Graph, ids of vertices in hierarchy are ids in this graph
+     */
+    private final FrozenGraph<Data> graph;
+
+    /**
+     * Position of each vertex in order of contraction
+     */
+    private final int[] ranks;
+
+    /**
+     * Start of upward edges of each vertex, has vertex count plus one elements
+     */
+    private final int[] offsets;
+
+    /**
+     * Ends of upward edges, grouped by start vertex
+     */
+    private final int[] targets;
+
+    /**
+     * Weights of upward edges
+     */
+    private final int[] weights;
+
+    /**
+     * Contracted vertex of each shortcut or -1 for original edge
+     */
+    private final int[] middles;
+
+    /**
+     * Contexts of queries, one for each thread
+     */
+    private final ThreadLocal<TraversalContext> contexts = ThreadLocal.withInitial(TraversalContext::new);
+
+    /**
+     * Constructor of hierarchy, arrays are used as is without copying
+     * @param graph graph
+     * @param ranks position of each vertex in order of contraction
+     * @param offsets start of upward edges of each vertex
+     * @param targets ends of upward edges
+     * @param weights weights of upward edges
+     * @param middles contracted vertices of shortcuts
+     */
+    private ContractionHierarchy(FrozenGraph<Data> graph, int[] ranks, int[] offsets, int[] targets,
+                                 int[] weights, int[] middles) {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+    }
+
+    /**
+     * State of preprocessing: mutable adjacency lists without parallel edges and loops
+     */
+    private static class Contractor {
+        private final int vertexCount;
+
+        /**
+         * Ends, weights and contracted vertices of arcs of each vertex, only first degrees[v] elements are used
+         */
+        private final int[][] neighbours;
+        private final int[][] neighbourWeights;
+        private final int[][] neighbourMiddles;
+        private final int[] degrees;
+        private final boolean[] contracted;
+
+        /**
+         * Quantity of already contracted neighbours of each vertex, keeps contraction spread over graph
+         */
+        private final int[] contractedNeighbours;
+
+        /**
+         * Context of witness searches
+         */
+        private final TraversalContext context = new TraversalContext();
+
+        /**
+         * Constructor of contractor, copies edges of graph
+         * @param graph graph
+         */
+        Contractor(FrozenGraph<?> graph) {
+            vertexCount = graph.getVertexCount();
+            neighbours = new int[vertexCount][];
+            neighbourWeights = new int[vertexCount][];
+            neighbourMiddles = new int[vertexCount][];
+            degrees = new int[vertexCount];
+            contracted = new boolean[vertexCount];
+            contractedNeighbours = new int[vertexCount];
+            for(int vertex = 0; vertex < vertexCount; vertex++) {
+                int degree = Math.max(graph.getDegree(vertex), 1);
+                neighbours[vertex] = new int[degree];
+                neighbourWeights[vertex] = new int[degree];
+                neighbourMiddles[vertex] = new int[degree];
+                for(int i = 0; i < graph.getDegree(vertex); i++) {
+                    int neighbour = graph.getNeighbour(vertex, i);
+                    if(neighbour != vertex) {
+                        addArc(vertex, neighbour, graph.getWeight(vertex, i), -1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Method to add arc or to make existing arc to the same vertex shorter
+         * @param from start vertex
+         * @param to end vertex
+         * @param weight weight of arc
+         * @param middle contracted vertex of shortcut or -1
+         */
+        void addArc(int from, int to, int weight, int middle) {
+            for(int i = 0; i < degrees[from]; i++) {
+                if(neighbours[from][i] == to) {
+                    if(weight < neighbourWeights[from][i]) {
+                        neighbourWeights[from][i] = weight;
+                        neighbourMiddles[from][i] = middle;
+                    }
+                    return;
+                }
+            }
+            if(degrees[from] == neighbours[from].length) {
+                int length = neighbours[from].length * 2;
+                neighbours[from] = Arrays.copyOf(neighbours[from], length);
+                neighbourWeights[from] = Arrays.copyOf(neighbourWeights[from], length);
+                neighbourMiddles[from] = Arrays.copyOf(neighbourMiddles[from], length);
+            }
+            neighbours[from][degrees[from]] = to;
+            neighbourWeights[from][degrees[from]] = weight;
+            neighbourMiddles[from][degrees[from]] = middle;
+            degrees[from]++;
+        }
+
+        /**
+         * Local Dijkstra's algorithm that looks for paths avoiding contracted vertex
+         * Distances are left in context
+         * @param from start vertex
+         * @param ignored vertex that is being contracted
+         * @param maxDistance distance after which search stops
+         */
+        void witnessSearch(int from, int ignored, int maxDistance) {
+            context.reset(vertexCount);
+            IntPayloadHeap heap = context.getPayloadHeap();
+            context.reach(from, 0, from);
+            heap.add(0, from);
+            int settled = 0;
+            while(!heap.isEmpty()) {
+                int distance = heap.peekMinKey();
+                int vertex = heap.getMin();
+                if(distance > context.getDistance(vertex)) {
+                    continue;
+                }
+                if(distance > maxDistance || ++settled > SETTLE_LIMIT) {
+                    break;
+                }
+                for(int i = 0; i < degrees[vertex]; i++) {
+                    int neighbour = neighbours[vertex][i];
+                    if(contracted[neighbour] || neighbour == ignored) {
+                        continue;
+                    }
+                    int neighbourDistance = distance + neighbourWeights[vertex][i];
+                    if(neighbourDistance < context.getDistance(neighbour)) {
+                        context.reach(neighbour, neighbourDistance, vertex);
+                        heap.add(neighbourDistance, neighbour);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Method to contract vertex or to count shortcuts of its contraction
+         * @param vertex vertex to contract
+         * @param simulate true to only count shortcuts
+         * @return quantity of shortcuts
+         */
+        int contract(int vertex, boolean simulate) {
+            int maxWeight = 0;
+            for(int i = 0; i < degrees[vertex]; i++) {
+                if(!contracted[neighbours[vertex][i]]) {
+                    maxWeight = Math.max(maxWeight, neighbourWeights[vertex][i]);
+                }
+            }
+            int shortcuts = 0;
+            int degree = degrees[vertex];  // shortcuts are never added to contracted vertex itself
+            for(int i = 0; i < degree; i++) {
+                int from = neighbours[vertex][i];
+                if(contracted[from]) {
+                    continue;
+                }
+                int fromWeight = neighbourWeights[vertex][i];
+                witnessSearch(from, vertex, fromWeight + maxWeight);
+                for(int j = i + 1; j < degree; j++) {
+                    int to = neighbours[vertex][j];
+                    if(contracted[to]) {
+                        continue;
+                    }
+                    int weight = fromWeight + neighbourWeights[vertex][j];
+                    if(context.getDistance(to) > weight) {
+                        shortcuts++;
+                        if(!simulate) {
+                            addArc(from, to, weight, vertex);
+                            addArc(to, from, weight, vertex);
+                        }
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Method to compute importance of vertex, less important vertices are contracted earlier
+         * @param vertex vertex
+         * @return edge difference plus quantity of contracted neighbours
+         */
+        int getPriority(int vertex) {
+            int degree = 0;
+            for(int i = 0; i < degrees[vertex]; i++) {
+                if(!contracted[neighbours[vertex][i]]) {
+                    degree++;
+                }
+            }
+            return contract(vertex, true) - degree + contractedNeighbours[vertex];
+        }
+    }
+
+    /**
+     * Method to build hierarchy
+     * Priorities are updated lazily: vertex taken from heap is evaluated again
+     * and returned to heap if it is not the least important one any more
+     * @param graph graph
+     * @param <Data> type of data
+     * @return hierarchy
+     */
+    public static <Data extends Comparable<Data>> ContractionHierarchy<Data> build(FrozenGraph<Data> graph) {
+        int vertexCount = graph.getVertexCount();
+        Contractor contractor = new Contractor(graph);
+        IntPayloadHeap queue = new IntPayloadHeap(vertexCount);
+        for(int vertex = 0; vertex < vertexCount; vertex++) {
+            queue.add(contractor.getPriority(vertex), vertex);
+        }
+
+        int[] ranks = new int[vertexCount];
+        int[][] upward = new int[vertexCount][];
+        int rank = 0;
+        while(!queue.isEmpty()) {
+            int vertex = queue.getMin();
+            int priority = contractor.getPriority(vertex);
+            if(!queue.isEmpty() && priority > queue.peekMinKey()) {
+                queue.add(priority, vertex);
+                continue;
+            }
+
+            // all remaining neighbours are contracted later, so current edges of vertex are its upward edges,
+            // they are stored as triples of end, weight and middle vertex
+            int[] arcs = new int[contractor.degrees[vertex] * 3];
+            int count = 0;
+            for(int i = 0; i < contractor.degrees[vertex]; i++) {
+                int neighbour = contractor.neighbours[vertex][i];
+                if(!contractor.contracted[neighbour]) {
+                    arcs[count++] = neighbour;
+                    arcs[count++] = contractor.neighbourWeights[vertex][i];
+                    arcs[count++] = contractor.neighbourMiddles[vertex][i];
+                    contractor.contractedNeighbours[neighbour]++;
+                }
+            }
+            upward[vertex] = Arrays.copyOf(arcs, count);
+            contractor.contract(vertex, false);
+            contractor.contracted[vertex] = true;
+            ranks[vertex] = rank++;
+            contractor.neighbours[vertex] = null;
+            contractor.neighbourWeights[vertex] = null;
+            contractor.neighbourMiddles[vertex] = null;
+            contractor.degrees[vertex] = 0;
+        }
+
+        int[] offsets = new int[vertexCount + 1];
+        for(int vertex = 0; vertex < vertexCount; vertex++) {
+            offsets[vertex + 1] = offsets[vertex] + upward[vertex].length / 3;
+        }
+        int[] targets = new int[offsets[vertexCount]];
+        int[] weights = new int[targets.length];
+        int[] middles = new int[targets.length];
+        for(int vertex = 0; vertex < vertexCount; vertex++) {
+            for(int k = 0, position = offsets[vertex]; position < offsets[vertex + 1]; k++, position++) {
+                targets[position] = upward[vertex][3 * k];
+                weights[position] = upward[vertex][3 * k + 1];
+                middles[position] = upward[vertex][3 * k + 2];
+            }
+        }
+        return new ContractionHierarchy<>(graph, ranks, offsets, targets, weights, middles);
+    }
+
+    /**
+     * Method to build hierarchy over graph
+     * @param graph graph, it is frozen before building
+     * @param <Data> type of data
+     * @return hierarchy
+     */
+    public static <Data extends Comparable<Data>> ContractionHierarchy<Data> build(Graph<Data> graph) {
+        return build(graph.freeze());
+    }
+
+    /**
+     * Getter of graph of hierarchy
+     * @return frozen graph
+     */
+    public FrozenGraph<Data> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Getter of position of vertex in order of contraction
+     * @param vertex id of vertex
+     * @return rank of vertex
+     */
+    public int getRank(int vertex) {
+        return ranks[vertex];
+    }
+
+    /**
+     * Getter of quantity of upward edges, including shortcuts
+     * @return quantity of edges
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Dijkstra's algorithm over upward edges from one side of query
+     * @param from start vertex of this side
+     * @param backward true if this side starts from last vertex of path
+     * @param context context of query, forward side must be already finished for backward one
+     * @return vertex where the shortest path goes from forward side to backward side or -1 for forward side
+     */
+    private int upwardSearch(int from, boolean backward, TraversalContext context) {
+        IntPayloadHeap heap = context.getPayloadHeap();
+        context.reach(from, 0, from, backward);
+        heap.add(0, from);
+        int best = Integer.MAX_VALUE;
+        int meeting = -1;
+        while(!heap.isEmpty()) {
+            int distance = heap.peekMinKey();
+            int vertex = heap.getMin();
+            if(distance > context.getDistance(vertex, backward)) {
+                continue;
+            }
+            if(backward) {
+                if(distance >= best) {
+                    break;
+                }
+                if(context.isReached(vertex, false) && context.getDistance(vertex, false) + distance < best) {
+                    best = context.getDistance(vertex, false) + distance;
+                    meeting = vertex;
+                }
+            }
+            for(int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                int neighbour = targets[i];
+                int neighbourDistance = distance + weights[i];
+                if(neighbourDistance < context.getDistance(neighbour, backward)) {
+                    context.reach(neighbour, neighbourDistance, vertex, backward);
+                    heap.add(neighbourDistance, neighbour);
+                }
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Method to find contracted vertex of edge of hierarchy
+     * @param first one end of edge
+     * @param second other end of edge
+     * @return contracted vertex or -1 if edge is original one
+     */
+    private int getMiddle(int first, int second) {
+        int lower = ranks[first] < ranks[second] ? first : second;
+        int upper = lower == first ? second : first;
+        for(int i = offsets[lower]; i < offsets[lower + 1]; i++) {
+            if(targets[i] == upper) {
+                return middles[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method to replace all shortcuts of path by original edges
+     * Shortcuts are unpacked with explicit stack of pairs of vertices
+     * @param route vertices of path in hierarchy
+     * @param context context of query, its buffers are used as stack
+     * @return vertices of path in graph
+     */
+    private int[] unpack(int[] route, TraversalContext context) {
+        int[] firsts = context.getBuffer(false);
+        int[] seconds = context.getBuffer(true);
+        int[] path = new int[Math.max(route.length, 16)];
+        int size = 0;
+        path[size++] = route[0];
+        for(int k = 1; k < route.length; k++) {
+            int top = 0;
+            firsts[top] = route[k - 1];
+            seconds[top++] = route[k];
+            while(top > 0) {
+                top--;
+                int first = firsts[top];
+                int second = seconds[top];
+                int middle = getMiddle(first, second);
+                if(middle == -1) {
+                    if(size == path.length) {
+                        path = Arrays.copyOf(path, path.length * 2);
+                    }
+                    path[size++] = second;
+                    continue;
+                }
+                firsts[top] = middle;
+                seconds[top++] = second;
+                firsts[top] = first;
+                seconds[top++] = middle;
+            }
+        }
+        return Arrays.copyOf(path, size);
+    }
+
+    /**
+     * Method to find shortest path between two vertices
+     * @param from id of first vertex in the path
+     * @param to id of last vertex in the path
+     * @return ids of all vertices in path
+     */
+    public int[] shortestPath(int from, int to) {
+        TraversalContext context = contexts.get();
+        context.reset(graph.getVertexCount());
+        upwardSearch(from, false, context);
+        int meeting = upwardSearch(to, true, context);
+        if(meeting == -1) {
+            throw new Graph.GraphNotContainsPathError(graph.getData(from).toString(), graph.getData(to).toString());
+        }
+
+        return unpack(context.getPath(meeting), context);
+    }
+
+    /**
+     * Method to find shortest path between two vertices
+     * @param from data of first vertex in the path
+     * @param to data of last vertex in the path
+     * @return data of all vertices in path
+     */
+    public List<Data> shortestPath(Data from, Data to) {
+        int[] path = shortestPath(graph.checkId(from), graph.checkId(to));
+        List<Data> result = new ArrayList<>(path.length);
+        for(int vertex : path) {
+            result.add(graph.getData(vertex));
+        }
+        return result;
+    }
+
+    /**
+     * Method to find length of shortest path between two vertices without unpacking of path
+     * @param from id of first vertex in the path
+     * @param to id of last vertex in the path
+     * @return sum of weights of edges of shortest path
+     */
+    public int getDistance(int from, int to) {
+        TraversalContext context = contexts.get();
+        context.reset(graph.getVertexCount());
+        upwardSearch(from, false, context);
+        int meeting = upwardSearch(to, true, context);
+        if(meeting == -1) {
+            throw new Graph.GraphNotContainsPathError(graph.getData(from).toString(), graph.getData(to).toString());
+        }
+        return context.getDistance(meeting, false) + context.getDistance(meeting, true);
+    }
+
+    /**
+     * Method to write hierarchy to file, graph itself is not written
+     * @param path path to file
+     */
+    public void write(String path) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(ranks.length);
+            output.writeInt(targets.length);
+            GraphSnapshot.writeInts(output, ranks);
+            GraphSnapshot.writeInts(output, offsets);
+            GraphSnapshot.writeInts(output, targets);
+            GraphSnapshot.writeInts(output, weights);
+            GraphSnapshot.writeInts(output, middles);
+        }
+    }
+
+    /**
+     * Checks that all values of array are in range
+     * @param array array to check
+     * @param min smallest allowed value
+     * @param max value after greatest allowed one
+     * @return true if all values are in range, else false
+     */
+    private static boolean isInRange(int[] array, int min, int max) {
+        for(int value : array) {
+            if(value < min || value >= max) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to open hierarchy written for the same graph
+     * Counts, offsets and vertex ids are checked before use, so damaged file raises NotHierarchyError
+     * @param path path to file
+     * @param graph graph, for which hierarchy was built, usually opened from snapshot
+     * @param <Data> type of data
+     * @return hierarchy
+     */
+    public static <Data extends Comparable<Data>> ContractionHierarchy<Data> open(String path, FrozenGraph<Data> graph)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            IntBuffer ints = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asIntBuffer();
+            if(ints.remaining() < HEADER_SIZE || ints.get() != MAGIC || ints.get() != VERSION) {
+                throw new NotHierarchyError(path);
+            }
+            int vertexCount = ints.get();
+            int edgeCount = ints.get();
+            // counts are compared in long, so huge values could not overflow
+            if(vertexCount < 0 || edgeCount < 0 || 2L * vertexCount + 1 + 3L * edgeCount > ints.remaining()) {
+                throw new NotHierarchyError(path);
+            }
+            if(vertexCount != graph.getVertexCount()) {
+                throw new IllegalArgumentException("Hierarchy is built for graph with other quantity of vertices: " + path);
+            }
+            int[] ranks = GraphSnapshot.readInts(ints, vertexCount);
+            int[] offsets = GraphSnapshot.readInts(ints, vertexCount + 1);
+            int[] targets = GraphSnapshot.readInts(ints, edgeCount);
+            int[] weights = GraphSnapshot.readInts(ints, edgeCount);
+            int[] middles = GraphSnapshot.readInts(ints, edgeCount);
+            if(!GraphSnapshot.isMonotonic(offsets) || offsets[vertexCount] != edgeCount || !isInRange(ranks, 0, vertexCount)
+                    || !isInRange(targets, 0, vertexCount) || !isInRange(weights, 0, Integer.MAX_VALUE)
+                    || !isInRange(middles, -1, vertexCount)) {
+                throw new NotHierarchyError(path);
+            }
+            return new ContractionHierarchy<>(graph, ranks, offsets, targets, weights, middles);
+        }
+    }
+}
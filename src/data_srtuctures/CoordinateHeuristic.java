@@ -0,0 +1,71 @@
+package data_srtuctures;
+
+import java.util.Map;
+
+/**
+ * Heuristic by straight line distance between coordinates of vertices
+ * Coordinates are stored in primitive arrays indexed by indexes of vertices,
+ * so heuristic is valid until vertices of graph are renumbered by compaction
+ */
+public class CoordinateHeuristic implements Heuristic {
+
+    /**
+     * First coordinate of each vertex
+     */
+    private final double[] x;
+
+    /**
+     * Second coordinate of each vertex
+     */
+    private final double[] y;
+
+    /**
+     * Lower bound of weight of path per unit of straight line distance
+     */
+    private final double costPerUnit;
+
+    /**
+     * Constructor of heuristic, arrays are used without copying
+     * @param x first coordinate of each vertex
+     * @param y second coordinate of each vertex
+     * @param costPerUnit lower bound of weight of path per unit of straight line distance
+     */
+    public CoordinateHeuristic(double[] x, double[] y, double costPerUnit) {
+        this.x = x;
+        this.y = y;
+        this.costPerUnit = costPerUnit;
+    }
+
+    /**
+     * Method to create heuristic for vertices of graph
+     * @param graph graph
+     * @param coordinates pair of coordinates of each vertex
+     * @param costPerUnit lower bound of weight of path per unit of straight line distance
+     * @param <Data> type of data of graph
+     * @return heuristic
+     */
+    public static <Data extends Comparable<Data>> CoordinateHeuristic of(Graph<Data> graph, Map<Data, double[]> coordinates,
+                                                                        double costPerUnit) {
+        int size = graph.vertices.size();
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for(int i = 0; i < size; i++) {
+            Graph<Data>.Vertex vertex = graph.vertices.get(i);
+            if(vertex == null) {
+                continue;
+            }
+            double[] point = coordinates.get(vertex.getData());
+            if(point == null) {
+                throw new IllegalArgumentException("There are no coordinates of vertex: " + vertex.getData());
+            }
+            x[i] = point[0];
+            y[i] = point[1];
+        }
+        return new CoordinateHeuristic(x, y, costPerUnit);
+    }
+
+    @Override
+    public int estimate(int vertex, int target) {
+        return (int)Math.floor(Math.hypot(x[vertex] - x[target], y[vertex] - y[target]) * costPerUnit);
+    }
+}
@@ -0,0 +1,257 @@
+package data_srtuctures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index of bridges and articulation points of graph, answers questions about connectivity after removal of one edge in O(1)
+ * Index is built by one iterative depth first search with low links of Tarjan's algorithm, which finds
+ * all bridges and all articulation points at once.
+ * Removal of edge that is not bridge changes nothing, removal of bridge splits its component
+ * into subtree of lower end of bridge in search tree and the rest of component.
+ * Index describes graph at the moment of building, graph keeps it until graph is changed
+ */
+public class CutIndex<Data extends Comparable<Data>> {
+
+    /**
+     * Indexed graph
+     */
+    private final Graph<Data> graph;
+
+    /**
+     * Time of entering of each vertex in search, 0 for holes left by removed vertices
+     */
+    private final int[] enter;
+
+    /**
+     * Greatest time of entering in subtree of each vertex, so subtree of v is all u with enter[v] <= enter[u] <= exit[v]
+     */
+    private final int[] exit;
+
+    /**
+     * Parent of each vertex in search tree, -1 for roots
+     */
+    private final int[] parents;
+
+    /**
+     * Flags of vertices, whose edge to parent in search tree is bridge
+     */
+    private final boolean[] bridges;
+
+    /**
+     * Flags of articulation points, vertices whose removal increases quantity of connected components
+     */
+    private final boolean[] articulationPoints;
+
+    /**
+     * Number of connected component of each vertex
+     */
+    private final int[] components;
+
+    /**
+     * Quantity of connected components
+     */
+    private int componentCount = 0;
+
+    /**
+     * Constructor of index, builds it in O(V + E)
+     * @param graph graph to index
+     */
+    CutIndex(Graph<Data> graph) {
+        this.graph = graph;
+        int size = graph.vertices.size();
+        enter = new int[size];
+        exit = new int[size];
+        parents = new int[size];
+        bridges = new boolean[size];
+        articulationPoints = new boolean[size];
+        components = new int[size];
+
+        int[] low = new int[size];
+        int[] stack = new int[size];
+        int[] cursors = new int[size];
+        boolean[] parentEdgeSkipped = new boolean[size];
+        int time = 0;
+        for(int root = 0; root < size; root++) {
+            if(graph.vertices.get(root) == null) {
+                components[root] = -1;
+                continue;
+            }
+            if(enter[root] != 0) {
+                continue;
+            }
+            int rootChildren = 0;
+            int top = 0;
+            stack[top++] = root;
+            parents[root] = -1;
+            enter[root] = low[root] = ++time;
+            components[root] = componentCount;
+            while(top > 0) {
+                int vertex = stack[top - 1];
+                List<Graph<Data>.Edge> incidents = graph.vertices.get(vertex).getIncidents();
+                if(cursors[vertex] < incidents.size()) {
+                    int neighbour = incidents.get(cursors[vertex]++).getTo().getIndex();
+                    if(neighbour == parents[vertex] && !parentEdgeSkipped[vertex]) {
+                        // only one edge to parent is tree edge, other parallel edges are back edges
+                        parentEdgeSkipped[vertex] = true;
+                    }
+                    else if(enter[neighbour] == 0) {
+                        parents[neighbour] = vertex;
+                        enter[neighbour] = low[neighbour] = ++time;
+                        components[neighbour] = componentCount;
+                        stack[top++] = neighbour;
+                    }
+                    else {
+                        low[vertex] = Math.min(low[vertex], enter[neighbour]);
+                    }
+                    continue;
+                }
+                top--;
+                exit[vertex] = time;
+                int parent = parents[vertex];
+                if(parent != -1) {
+                    low[parent] = Math.min(low[parent], low[vertex]);
+                    bridges[vertex] = low[vertex] > enter[parent];
+                    if(parent == root) {
+                        rootChildren++;
+                    }
+                    else if(low[vertex] >= enter[parent]) {  // subtree has no back edge above parent
+                        articulationPoints[parent] = true;
+                    }
+                }
+            }
+            articulationPoints[root] = rootChildren > 1;
+            componentCount++;
+        }
+    }
+
+    /**
+     * Method to find vertex by data and check that it exists
+     * @param data data of vertex
+     * @return index of vertex
+     */
+    private int checkVertex(Data data) {
+        Graph<Data>.Vertex vertex = graph.getVertex(data);
+        graph.checkVertex(vertex, data);
+        return vertex.getIndex();
+    }
+
+    /**
+     * Method to find lower end of edge in search tree if this edge is bridge
+     * @param from data of start vertex of edge
+     * @param to data of end vertex of edge
+     * @return index of lower end of bridge or -1 if edge is not bridge
+     */
+    private int getBridgeChild(Data from, Data to) {
+        Graph<Data>.Vertex fromVertex = graph.getVertex(from);
+        graph.checkVertex(fromVertex, from);
+        Graph<Data>.Vertex toVertex = graph.getVertex(to);
+        graph.checkVertex(toVertex, to);
+        if(fromVertex.getEdge(toVertex) == null) {
+            throw new Graph.GraphNotContainsThisEdgeError(from.toString(), to.toString());
+        }
+        int first = fromVertex.getIndex();
+        int second = toVertex.getIndex();
+        if(parents[second] == first && bridges[second]) {
+            return second;
+        }
+        if(parents[first] == second && bridges[first]) {
+            return first;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks is vertex in subtree of other vertex in search tree
+     * @param vertex index of vertex
+     * @param root index of root of subtree
+     * @return true if vertex is in subtree, else false
+     */
+    private boolean isInSubtree(int vertex, int root) {
+        return enter[root] <= enter[vertex] && enter[vertex] <= exit[root];
+    }
+
+    /**
+     * Checks is edge a bridge, so its removal increases quantity of connected components
+     * @param from data of start vertex of edge
+     * @param to data of end vertex of edge
+     * @return true if edge is bridge, else false
+     */
+    public boolean isBridge(Data from, Data to) {
+        return getBridgeChild(from, to) != -1;
+    }
+
+    /**
+     * Checks will graph stay connected after removal of edge
+     * @param from data of start vertex of edge
+     * @param to data of end vertex of edge
+     * @return true if graph is connected and edge is not bridge, else false
+     */
+    public boolean isConnectedWithout(Data from, Data to) {
+        return componentCount <= 1 && getBridgeChild(from, to) == -1;
+    }
+
+    /**
+     * Checks will two vertices stay connected after removal of edge
+     * @param from data of start vertex of edge
+     * @param to data of end vertex of edge
+     * @param first data of first vertex
+     * @param second data of second vertex
+     * @return true if there is path between vertices without this edge, else false
+     */
+    public boolean isConnectedWithout(Data from, Data to, Data first, Data second) {
+        int bridgeChild = getBridgeChild(from, to);
+        int firstIndex = checkVertex(first);
+        int secondIndex = checkVertex(second);
+        if(components[firstIndex] != components[secondIndex]) {
+            return false;
+        }
+        return bridgeChild == -1 || isInSubtree(firstIndex, bridgeChild) == isInSubtree(secondIndex, bridgeChild);
+    }
+
+    /**
+     * Checks is vertex an articulation point, so its removal increases quantity of connected components
+     * @param data data of vertex
+     * @return true if vertex is articulation point, else false
+     */
+    public boolean isArticulationPoint(Data data) {
+        return articulationPoints[checkVertex(data)];
+    }
+
+    /**
+     * Method to get all bridges of graph
+     * @return one direction of each bridge, from upper end to lower end in search tree
+     */
+    public List<Graph<Data>.Edge> getBridges() {
+        List<Graph<Data>.Edge> result = new ArrayList<>();
+        for(int i = 0; i < bridges.length; i++) {
+            if(bridges[i]) {
+                Graph<Data>.Vertex child = graph.vertices.get(i);
+                result.add(graph.vertices.get(parents[i]).getEdge(child));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to get all articulation points of graph
+     * @return data of articulation points in order of indexes of vertices
+     */
+    public List<Data> getArticulationPoints() {
+        List<Data> result = new ArrayList<>();
+        for(int i = 0; i < articulationPoints.length; i++) {
+            if(articulationPoints[i]) {
+                result.add(graph.vertices.get(i).getData());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Getter of quantity of connected components
+     * @return quantity of components
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+}
@@ -0,0 +1,141 @@
+package data_srtuctures;
+
+/**
+ * Array-based Min Binary Heap of primitive double values
+ * Values are stored without boxing, so add and getMin allocate nothing while heap has enough capacity
+ */
+public class DoubleHeap {
+
+    /**
+     * Private array to store heap elements
+     */
+    private double[] data;
+
+    /**
+     * Variable to store current quantity of elements in heap
+     */
+    private int size;
+
+    /**
+     * Constant default heap storage size
+     * Using if size not defined at Heap creation
+     */
+    private static final int DEFAULT_INITIAL_SIZE = 8;
+
+    /**
+     * Factor of increasing of storage
+     */
+    private static final int DEFAULT_INCREASE_FACTOR = 2;
+
+    /**
+     * New heap constructor
+     * @param initSize size of initiated array of elements
+     */
+    public DoubleHeap(int initSize) {
+        size = 0;
+        data = new double[Math.max(initSize, 1)];
+    }
+
+    /**
+     * Constructor with default size of elements warehouse
+     */
+    public DoubleHeap() {
+        this(DEFAULT_INITIAL_SIZE);
+    }
+
+    /**
+     * Returns is heap empty
+     * @return true if heap empty, else false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Getter of quantity of elements in heap
+     * @return quantity of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements, storage is kept for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Increases the size of array, if needed
+     */
+    private void checkAndAllocate() {
+        if(size == data.length) {
+            double[] temp = new double[data.length * DEFAULT_INCREASE_FACTOR];
+            System.arraycopy(data, 0, temp, 0, size);
+            data = temp;
+        }
+    }
+
+    /**
+     * Insertion method for Heap
+     * @param value element to add
+     */
+    public void add(double value) {
+        checkAndAllocate();
+        int i = size++;
+        int parent = (i - 1) / 2;
+        while(i > 0 && Double.compare(value, data[parent]) < 0) {
+            data[i] = data[parent];
+            i = parent;
+            parent = (i - 1) / 2;
+        }
+        data[i] = value;
+    }
+
+    /**
+     * Returns minimal element without removing it
+     * @return minimal element
+     */
+    public double peekMin() {
+        if(isEmpty()) {
+            throw new Heap.HeapIsEmptyError();
+        }
+        return data[0];
+    }
+
+    /**
+     * Main method of Heap-getting minimal element
+     * @return minimal element
+     */
+    public double getMin() {
+        double result = peekMin();
+        size--;
+        if(size > 0) {
+            heapify(data[size]);
+        }
+        return result;
+    }
+
+    /**
+     * Puts value to the root and sifts it down until heap property holds
+     * @param value value to place
+     */
+    private void heapify(double value) {
+        int i = 0;
+        int half = size / 2;
+        while(i < half) {
+            int child = 2 * i + 1;
+            int rightChild = child + 1;
+            if(rightChild < size && Double.compare(data[rightChild], data[child]) < 0) {
+                child = rightChild;
+            }
+            if(Double.compare(value, data[child]) <= 0) {
+                break;
+            }
+            data[i] = data[child];
+            i = child;
+        }
+        data[i] = value;
+    }
+}
@@ -0,0 +1,422 @@
+package data_srtuctures;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable graph in compressed sparse row form
+ * Vertices are numbered from 0 to vertex count, neighbours of vertex v are stored in
+ * targets[offsets[v]] .. targets[offsets[v + 1] - 1], so whole graph is a few int arrays
+ */
+public class FrozenGraph<Data extends Comparable<Data>> implements Adjacency {
+
+    /**
+     * Data of vertices, indexed by vertex id
+     */
+    private final Object[] data;
+
+    /**
+     * Index from data to vertex id, built on first lookup
+     */
+    private volatile Map<Data, Integer> ids;
+
+    /**
+     * Start of neighbours of each vertex in targets array, has vertex count plus one elements
+     */
+    private final int[] offsets;
+
+    /**
+     * Ids of end vertices of all edges, grouped by start vertex
+     */
+    private final int[] targets;
+
+    /**
+     * Weights of edges in the same order as targets, null if graph is unweighted
+     */
+    private final int[] weights;
+
+    /**
+     * Contexts of queries, one for each thread, so graph can be queried from many threads at the same time
+     */
+    private final ThreadLocal<TraversalContext> contexts = ThreadLocal.withInitial(TraversalContext::new);
+
+    /**
+     * Constructor of frozen graph, arrays are used as is without copying
+     * @param data data of vertices
+     * @param offsets start of neighbours of each vertex
+     * @param targets end vertices of edges
+     * @param weights weights of edges or null if all edges have weight one
+     */
+    FrozenGraph(Object[] data, int[] offsets, int[] targets, int[] weights) {
+        this(data, offsets, targets, weights, null);
+    }
+
+    /**
+     * Constructor of frozen graph with already built index of data, arrays are used as is without copying
+     * @param data data of vertices
+     * @param offsets start of neighbours of each vertex
+     * @param targets end vertices of edges
+     * @param weights weights of edges or null if all edges have weight one
+     * @param ids index from data to vertex id or null to build it on first lookup
+     */
+    FrozenGraph(Object[] data, int[] offsets, int[] targets, int[] weights, Map<Data, Integer> ids) {
+        this.data = data;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.ids = ids;
+    }
+
+    /**
+     * Getter of quantity of vertices
+     * @return quantity of vertices
+     */
+    public int getVertexCount() {
+        return data.length;
+    }
+
+    /**
+     * Getter of quantity of edges, each undirected edge is counted twice
+     * @return quantity of edges
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Checks does graph have weights of edges
+     * @return true if edges have own weights, else false
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Method to get vertex id by data
+     * @param data data to be searched by
+     * @return id of vertex or -1 if vertex with this data is not exists
+     */
+    public int getId(Data data) {
+        Map<Data, Integer> index = ids;
+        if(index == null) {
+            synchronized(this) {
+                index = ids;
+                if(index == null) {
+                    index = new HashMap<>(this.data.length * 2);
+                    for(int i = 0; i < this.data.length; i++) {
+                        index.put((Data)this.data[i], i);
+                    }
+                    ids = index;
+                }
+            }
+        }
+        Integer id = index.get(data);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Method to get vertex id by data and raise exception if it not exists
+     * @param data data to be searched by
+     * @return id of vertex
+     */
+    protected int checkId(Data data) {
+        int id = getId(data);
+        if(id == -1) {
+            throw new Graph.GraphNotContainsThisVertexError(data.toString());
+        }
+        return id;
+    }
+
+    /**
+     * Method to start new query
+     * @return context of current thread, that is already reset for this graph
+     */
+    protected TraversalContext newQuery() {
+        TraversalContext context = contexts.get();
+        context.reset(data.length);
+        return context;
+    }
+
+    /**
+     * Accessor to data of vertex
+     * @param vertex id of vertex
+     * @return data
+     */
+    public Data getData(int vertex) {
+        return (Data)data[vertex];
+    }
+
+    /**
+     * Getter of quantity of neighbours of vertex
+     * @param vertex id of vertex
+     * @return degree of vertex
+     */
+    @Override
+    public int getDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Method to get neighbour of vertex
+     * @param vertex id of vertex
+     * @param i number of neighbour, from 0 to degree of vertex
+     * @return id of neighbour
+     */
+    @Override
+    public int getNeighbour(int vertex, int i) {
+        return targets[offsets[vertex] + i];
+    }
+
+    /**
+     * Method to get weight of edge to neighbour of vertex
+     * @param vertex id of vertex
+     * @param i number of neighbour, from 0 to degree of vertex
+     * @return weight of edge
+     */
+    public int getWeight(int vertex, int i) {
+        return weights == null ? 1 : weights[offsets[vertex] + i];
+    }
+
+    /**
+     * Getter of start of neighbours of each vertex, array is returned without copying
+     * @return offsets array
+     */
+    int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Getter of end vertices of all edges, array is returned without copying
+     * @return targets array
+     */
+    int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Getter of weights of all edges, array is returned without copying
+     * @return weights array or null if graph is unweighted
+     */
+    int[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Calls action for every neighbour of vertex
+     * @param vertex id of vertex
+     * @param action action that takes id of neighbour
+     */
+    public void forEachNeighbour(int vertex, IntConsumer action) {
+        for(int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    /**
+     * Depth first search algorithm with explicit stack
+     * @param from id of start vertex
+     * @return set of ids of all vertices reachable from start vertex
+     */
+    public BitSet dfs(int from) {
+        BitSet visited = new BitSet(data.length);
+        int[] stack = newQuery().getBuffer();
+        int top = 0;
+        stack[top++] = from;
+        visited.set(from);
+        while(top > 0) {
+            int vertex = stack[--top];
+            for(int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                int neighbour = targets[i];
+                if(!visited.get(neighbour)) {
+                    visited.set(neighbour);
+                    stack[top++] = neighbour;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Depth first search algorithm with explicit stack
+     * @param from data of start vertex
+     * @return set of ids of all vertices reachable from start vertex
+     */
+    public BitSet dfs(Data from) {
+        return dfs(checkId(from));
+    }
+
+    /**
+     * Method to find shortest path between two vertices
+     * Breadth first search is used for unweighted graph and Dijkstra algorithm for weighted
+     * @param from id of first vertex in the path
+     * @param to id of last vertex in the path
+     * @return ids of all vertices in path
+     */
+    public int[] shortestPath(int from, int to) {
+        TraversalContext context = newQuery();
+        int last = to;
+        if(weights == null) {
+            last = context.bidirectionalSearch(from, to, this);
+        }
+        else {
+            context.reach(from, 0, from);
+            dijkstra(from, to, context);
+        }
+        if(last == -1 || !context.isReached(last)) {
+            throw new Graph.GraphNotContainsPathError(getData(from).toString(), getData(to).toString());
+        }
+        return context.getPath(last);
+    }
+
+    /**
+     * Method to find shortest path between two vertices
+     * @param from data of first vertex in the path
+     * @param to data of last vertex in the path
+     * @return data of all vertices in path
+     */
+    public List<Data> shortestPath(Data from, Data to) {
+        int[] path = shortestPath(checkId(from), checkId(to));
+        List<Data> result = new ArrayList<>(path.length);
+        for(int vertex : path) {
+            result.add(getData(vertex));
+        }
+        return result;
+    }
+
+    /**
+     * Dijkstra algorithm that fills distances and parents of vertices until end vertex is settled
+     * Heap may contain outdated entries, they are skipped by comparison with known distance
+     * @param from id of start vertex
+     * @param to id of end vertex
+     * @param context context of query
+     */
+    private void dijkstra(int from, int to, TraversalContext context) {
+        IntPayloadHeap heap = context.getPayloadHeap();
+        heap.add(0, from);
+        while(!heap.isEmpty()) {
+            int distance = heap.peekMinKey();
+            int vertex = heap.getMin();
+            if(distance > context.getDistance(vertex)) {
+                continue;
+            }
+            if(vertex == to) {
+                break;
+            }
+            for(int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                int neighbour = targets[i];
+                int neighbourDistance = distance + weights[i];
+                if(neighbourDistance < context.getDistance(neighbour)) {
+                    context.reach(neighbour, neighbourDistance, vertex);
+                    heap.add(neighbourDistance, neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to find distances from one vertex to many vertices
+     * Search goes from start vertex by breadth first search for unweighted graph or by Dijkstra's algorithm
+     * for weighted one, and stops when all end vertices are settled
+     * @param from id of start vertex
+     * @param to ids of end vertices
+     * @return distances in the same order as end vertices, Integer.MAX_VALUE for unreachable vertices
+     */
+    public int[] getDistances(int from, int[] to) {
+        TraversalContext context = newQuery();
+        int remaining = 0;
+        for(int vertex : to) {
+            if(!context.isVisited(vertex)) {  // end vertices are marked as visited until they are settled
+                context.setVisited(vertex);
+                remaining++;
+            }
+        }
+        context.reach(from, 0, from);
+        if(weights == null) {
+            int[] queue = context.getBuffer();
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = from;
+            while(head < tail && remaining > 0) {
+                int vertex = queue[head++];
+                if(context.isVisited(vertex)) {
+                    remaining--;
+                }
+                int neighbourDistance = context.getDistance(vertex) + 1;
+                for(int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                    int neighbour = targets[i];
+                    if(!context.isReached(neighbour)) {
+                        context.reach(neighbour, neighbourDistance, vertex);
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        else {
+            IntPayloadHeap heap = context.getPayloadHeap();
+            heap.add(0, from);
+            while(!heap.isEmpty() && remaining > 0) {
+                int distance = heap.peekMinKey();
+                int vertex = heap.getMin();
+                if(distance > context.getDistance(vertex)) {
+                    continue;
+                }
+                if(context.isVisited(vertex)) {
+                    remaining--;
+                }
+                for(int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                    int neighbour = targets[i];
+                    int neighbourDistance = distance + weights[i];
+                    if(neighbourDistance < context.getDistance(neighbour)) {
+                        context.reach(neighbour, neighbourDistance, vertex);
+                        heap.add(neighbourDistance, neighbour);
+                    }
+                }
+            }
+        }
+
+        int[] distances = new int[to.length];
+        for(int i = 0; i < to.length; i++) {
+            distances[i] = context.getDistance(to[i]);
+        }
+        return distances;
+    }
+
+    /**
+     * Method to build table of distances between many vertices
+     * Searches from different start vertices run in parallel, each thread reuses its own context
+     * @param from ids of start vertices
+     * @param to ids of end vertices
+     * @return table, where row i contains distances from start vertex i to all end vertices,
+     * Integer.MAX_VALUE for unreachable vertices
+     */
+    public int[][] getDistanceTable(int[] from, int[] to) {
+        int[][] table = new int[from.length][];
+        IntStream.range(0, from.length).parallel().forEach(i -> table[i] = getDistances(from[i], to));
+        return table;
+    }
+
+    /**
+     * Method to build table of distances between many vertices
+     * @param from data of start vertices
+     * @param to data of end vertices
+     * @return table, where row i contains distances from start vertex i to all end vertices,
+     * Integer.MAX_VALUE for unreachable vertices
+     */
+    public int[][] getDistanceTable(List<Data> from, List<Data> to) {
+        return getDistanceTable(checkIds(from), checkIds(to));
+    }
+
+    /**
+     * Method to get ids of many vertices and raise exception if one of them not exists
+     * @param data data of vertices
+     * @return ids of vertices in the same order
+     */
+    private int[] checkIds(List<Data> data) {
+        int[] result = new int[data.size()];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = checkId(data.get(i));
+        }
+        return result;
+    }
+}
@@ -1,10 +1,12 @@
 package data_srtuctures;
 
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Created by litleleprikon on 27/11/15.
@@ -21,20 +23,20 @@ public class Graph<Data extends Comparable<Data>> {
     }
 
     /**
-     * Raised in Dijkstra algorithm in case of vertex have not any edges
+     * Error class to handle cases of access to vertex with data that not contained in this graph
      */
-    public static class VertexHaveNoEdges extends Error {
-        public VertexHaveNoEdges() {
-            super("Vertex have no edges");
+    public static class GraphNotContainsThisEdgeError extends Error {
+        public GraphNotContainsThisEdgeError(String from, String to) {
+            super("Graph not contains edge with this vertexes from: " + from + " to: " + to);
         }
     }
 
     /**
-     * Error class to handle cases of access to vertex with data that not contained in this graph
+     * Raised in case of there is no path between two vertices
      */
-    public static class GraphNotContainsThisEdgeError extends Error {
-        public GraphNotContainsThisEdgeError(String from, String to) {
-            super("Graph not contains edge with this vertexes from: " + from + " to: " + to);
+    public static class GraphNotContainsPathError extends Error {
+        public GraphNotContainsPathError(String from, String to) {
+            super("Graph not contains path from: " + from + " to: " + to);
         }
     }
 
@@ -46,11 +48,86 @@ public class Graph<Data extends Comparable<Data>> {
             super("Graph already contains this vertex");
         }
     }
+    /**
+     * Degree of vertex above which vertex keeps hash index of its neighbours
+     */
+    protected static final int NEIGHBOUR_INDEX_THRESHOLD = 32;
+
+    /**
+     * Direction optimizing search goes bottom-up when edges of frontier are more than
+     * edges of not visited vertices divided by this number
+     */
+    private static final int TOP_DOWN_ALPHA = 14;
+
+    /**
+     * Direction optimizing search goes top-down again when frontier is less than
+     * quantity of vertices divided by this number
+     */
+    private static final int BOTTOM_UP_BETA = 24;
+
     /**
      * List of all vertexes in graph
      */
     protected List<Vertex> vertices = new ArrayList<>();
 
+    /**
+     * Index from data to vertex, used to find vertex by data in constant time
+     * Must be updated together with list of vertices
+     */
+    protected Map<Data, Vertex> index = new HashMap<>();
+
+    /**
+     * Quantity of holes in list of vertices, left by removed vertices
+     */
+    private int removedVertices = 0;
+
+    /**
+     * Contexts of queries, one for each thread, so graph can be queried from many threads at the same time
+     */
+    private final ThreadLocal<TraversalContext> contexts = ThreadLocal.withInitial(TraversalContext::new);
+
+    /**
+     * Connected components of vertices by their indexes, built on first connectivity query
+     * Added edges only join components, so index is updated in place. Removal of edge can split component,
+     * so index is dropped and built again by next query
+     */
+    private UnionFind components = null;
+
+    /**
+     * Number of component of each vertex, built on first request and dropped when components change
+     */
+    private int[] componentLabels = null;
+
+    /**
+     * Index of bridges, built on first request and dropped on every change of graph
+     */
+    private CutIndex<Data> cutIndex = null;
+
+    /**
+     * Frozen copy of graph for distance tables, built on first request and dropped on every change of graph
+     */
+    private FrozenGraph<Data> frozen = null;
+
+    /**
+     * Neighbours of vertices by their indexes, lets searches shared with frozen graph run on this graph
+     */
+    private final Adjacency adjacency = new Adjacency() {
+        @Override
+        public int getDegree(int vertex) {
+            return vertices.get(vertex).incidents.size();
+        }
+
+        @Override
+        public int getNeighbour(int vertex, int i) {
+            return vertices.get(vertex).incidents.get(i).getTo().getIndex();
+        }
+    };
+
+    /**
+     * True if graph has ever had edge with weight other than one
+     */
+    private boolean weighted = false;
+
     /**
      * Class of vertex of Graph
      */
@@ -61,128 +138,98 @@ public class Graph<Data extends Comparable<Data>> {
         private Data data;
 
         /**
-         * Weight of way to this vertex from start vertex
-         * Default value is infinity. In case of java ve can use Integer.MAX_VALUE as infinity
-         */
-        private int weight = Integer.MAX_VALUE;
-
-        /**
-         * In case that we set edges to null on removing ve must to find first not null edge
-         * @return first not null edge
+         * Step of Dijkstra algorithm
+         * Relaxes distances of all not visited neighbours and puts them to heap
+         * Heap can contain old pairs of neighbour with greater distance, they are skipped when vertex is already visited
+         * @param context context of query, contains distances and heap of pairs of distance and vertex index
          */
-        private Edge getFirstNotNullNotVisitedEdge() {
+        public void dijkstra(TraversalContext context) {
+            IntPayloadHeap heap = context.getPayloadHeap();
+            context.setVisited(index);
             for(Edge edge : incidents) {
-                if(edge != null && !edge.getTo().isVisited()) {
-                    return edge;
+                int neighbour = edge.getTo().getIndex();
+                if(context.isVisited(neighbour)) {
+                    continue;
+                }
+                int neighbourDistance = context.getDistance(index) + edge.getWeight();
+                if(context.getDistance(neighbour) > neighbourDistance) {
+                    context.reach(neighbour, neighbourDistance, index);
+                    heap.add(neighbourDistance, neighbour);
                 }
             }
-            throw new VertexHaveNoEdges();
         }
 
         /**
-         * Method with veeeeery long name
-         * For Dijkstra algorithm search of not visited neighbour vertex with minimal weight
-         * @return edge with end vertex with minimal weight
+         * Method to delete edge to specific vertex
+         * @param to specific vertex
          */
-        public Edge getEdgeWithMinimalNotVisitedVertex() {
-            Edge minimal;
-            try {
-                minimal = getFirstNotNullNotVisitedEdge(); // By default set minimal to first edge
-            }
-            catch(VertexHaveNoEdges ex) {
-                return null;  // if vertex have not any unvisited neighbours return null
-            }
-            for(Edge edge : incidents) {
-                if (edge == null) {
-                    continue;
-                }
-                if(edge.getTo().getWeight() < minimal.getTo().getWeight() && !edge.getTo().isVisited()) {
-                    minimal = edge;
-                }
-            }
-            return minimal;
+        public void deleteEdge(Vertex to) {
+            Edge edgeTo = getEdge(to);
+            removeEdge(edgeTo);
         }
 
         /**
-         * Fill all
+         * Method to delete all edges of this vertex in both directions
          */
-        public void dijkstra() {
-            int neighbourWeight = weight + Edge.EDGE_WEIGHT;
+        public void deleteAllEdges() {
             for(Edge edge : incidents) {
-                if(edge == null || edge.getTo().isVisited()) {
+                if(edge.getTo() == this) {  // loop is stored only in this vertex
                     continue;
                 }
-                if(edge.getTo().getWeight() > neighbourWeight) {
-                    edge.getTo().setWeight(neighbourWeight);
+                if(edge.reverse != null) {
+                    edge.getTo().removeEdge(edge.reverse);
+                }
+                else {
+                    edge.getTo().deleteEdge(this);
                 }
             }
-            setVisited();
+            for(Edge edge : incidents) {
+                edge.index = -1;
+            }
+            incidents = new ArrayList<>();
+            neighbourIndex = null;
+            parallelEdges = null;
+            frozen = null;  // loops are dropped without removeEdge
         }
 
         /**
-         * Field to set true when visit this vertex
-         */
-        private boolean visited = false;
-
-        /**
-         * Checks is this vertex visited
-         * @return trues if visited else false
+         * List of all edges from this vertex
          */
-        public boolean isVisited() {
-            return visited;
-        }
+        private List<Edge> incidents = new ArrayList<>();
 
         /**
-         * Sets visited to false
+         * Index from neighbour vertex to edge to it, exists only while degree of vertex is high
+         * If there are several edges to the same neighbour, index contains one of them
          */
-        public void clearVisited() {
-            visited = false;
-        }
+        private Map<Vertex, Edge> neighbourIndex = null;
 
         /**
-         * Method to set current vertex visible
+         * Quantity of edges to each neighbour that are not in neighbour index because index already contains edge
+         * to the same vertex, exists together with index and has no entries for neighbours without such edges
          */
-        public void setVisited() {
-            visited = true;
-        }
+        private Map<Vertex, Integer> parallelEdges = null;
 
         /**
-         * Depth first search algorithm
-         * Used to set all vertexes that reachable to visited
+         * Method to build index of neighbours from list of edges
          */
-        public void dfs() {
-            setVisited();
+        private void buildNeighbourIndex() {
+            neighbourIndex = new HashMap<>(incidents.size() * 2);
+            parallelEdges = new HashMap<>();
             for(Edge edge : incidents) {
-                if(edge == null) {  // deleted edge
-                    continue;
-                }
-                if(!edge.getTo().isVisited()) {
-                    edge.getTo().dfs();
-                }
+                indexEdge(edge);
             }
         }
 
         /**
-         * Method to delete edge to specific vertex
-         * @param to specific vertex
+         * Method to add edge to index of neighbours or count it as parallel if index has edge to the same vertex
+         * @param edge edge of this vertex
          */
-        public void deleteEdge(Vertex to) {
-            Edge edgeTo = getEdge(to);
-            incidents.set(edgeTo.getIndex(), null);
-        }
-
-        public void deleteAllEdges() {
-            for(Edge edge : incidents) {
-                edge.getTo().deleteEdge(this);
+        private void indexEdge(Edge edge) {
+            if(neighbourIndex.putIfAbsent(edge.getTo(), edge) != null) {
+                parallelEdges.merge(edge.getTo(), 1, Integer::sum);
             }
-            incidents = new ArrayList<>();
         }
 
-        /**
-         * List of all edges from this vertex
-         */
-        private List<Edge> incidents = new ArrayList<>();
-
         /**
          * Index to position of this vertex in list of vertexes in class Graph
          */
@@ -190,10 +237,36 @@ public class Graph<Data extends Comparable<Data>> {
 
         /**
          * Metohd to add edge to vertex
+         * @return added edge
          */
-        public void addEdge(Vertex to) {
-            Edge edge = new Edge(this, to, incidents.size());
+        public Edge addEdge(Vertex to) {
+            return addEdge(to, Edge.EDGE_WEIGHT);
+        }
+
+        /**
+         * Method to add weighted edge to vertex
+         * @param to end vertex of edge
+         * @param weight weight of edge
+         * @return added edge
+         */
+        public Edge addEdge(Vertex to, int weight) {
+            Edge edge = new Edge(this, to, incidents.size(), weight);
+            if(weight != Edge.EDGE_WEIGHT) {
+                weighted = true;
+            }
             incidents.add(edge);
+            if(components != null && components.union(index, to.index)) {
+                componentLabels = null;
+            }
+            cutIndex = null;
+            frozen = null;
+            if(neighbourIndex != null) {
+                indexEdge(edge);
+            }
+            else if(incidents.size() > NEIGHBOUR_INDEX_THRESHOLD) {
+                buildNeighbourIndex();
+            }
+            return edge;
         }
 
         /**
@@ -203,13 +276,19 @@ public class Graph<Data extends Comparable<Data>> {
         public LinkedList<Vertex> getNeighbourVertices() {
             LinkedList<Vertex> neighbours = new LinkedList<>();
             for (Edge edge : incidents) {
-                if(edge != null) {
-                    neighbours.add(edge.getTo());
-                }
+                neighbours.add(edge.getTo());
             }
             return neighbours;
         }
 
+        /**
+         * Getter of all edges of this vertex, list is returned without copying and must not be changed
+         * @return edges of this vertex
+         */
+        List<Edge> getIncidents() {
+            return incidents;
+        }
+
         public Data[] getNeighbours() {
             Comparable[] result = new Comparable[incidents.size()];
             int i = 0;
@@ -227,10 +306,10 @@ public class Graph<Data extends Comparable<Data>> {
          * @return edge
          */
         public Edge getEdge(Vertex to) {
+            if(neighbourIndex != null) {
+                return neighbourIndex.get(to);
+            }
             for(Edge edge : incidents) {
-                if(edge == null) {
-                    continue;
-                }
                 if(edge.getTo().equals(to)) {
                     return edge;
                 }
@@ -239,11 +318,49 @@ public class Graph<Data extends Comparable<Data>> {
         }
 
         /**
-         * Method to set edge to null without removing it from list of edges
-         * @param edge edge to set null
+         * Method to remove edge from list of edges in O(1)
+         * Last edge of list is moved to place of removed one, so list never contains holes
+         * @param edge edge of this vertex to remove
          */
-        public void setEdgeToNull(Edge edge) {
-            incidents.set(edge.getIndex(), null);
+        public void removeEdge(Edge edge) {
+            // edge is checked before list is changed, removed edge or edge of other vertex would break other edge
+            if(edge == null || edge.getFrom() != this || edge.index < 0 || edge.index >= incidents.size()
+                    || incidents.get(edge.index) != edge) {
+                throw new GraphNotContainsThisEdgeError(toString(), edge == null ? "null" : edge.getTo().toString());
+            }
+            Edge last = incidents.remove(incidents.size() - 1);
+            if(last != edge) {
+                last.index = edge.index;
+                incidents.set(last.index, last);
+            }
+            edge.index = -1;
+            components = null;
+            componentLabels = null;
+            cutIndex = null;
+            frozen = null;
+
+            if(neighbourIndex == null) {
+                return;
+            }
+            if(incidents.size() < NEIGHBOUR_INDEX_THRESHOLD / 2) {
+                neighbourIndex = null;  // vertex is not hub any more, list is short enough to scan
+                parallelEdges = null;
+            }
+            else if(neighbourIndex.get(edge.getTo()) != edge) {
+                parallelEdges.computeIfPresent(edge.getTo(), (neighbour, count) -> count > 1 ? count - 1 : null);
+            }
+            else if(parallelEdges.containsKey(edge.getTo())) {  // other edge to the same vertex exists, it must be indexed now
+                for(Edge other : incidents) {
+                    if(other.getTo() == edge.getTo()) {
+                        neighbourIndex.put(other.getTo(), other);
+                        break;
+                    }
+                }
+                parallelEdges.computeIfPresent(edge.getTo(), (neighbour, count) -> count > 1 ? count - 1 : null);
+            }
+            else {
+                neighbourIndex.remove(edge.getTo());
+            }
         }
 
         /**
@@ -270,6 +387,15 @@ public class Graph<Data extends Comparable<Data>> {
             }
         }
 
+        /**
+         * Overrided method of Object class, consistent with equals
+         * @return hash code of contained data object
+         */
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(data);
+        }
+
         /**
          * Default constructor of vertex
          * @param data
@@ -307,22 +433,6 @@ public class Graph<Data extends Comparable<Data>> {
                     "data=" + data +
                     '}';
         }
-
-        /**
-         * getter of weight
-         * @return weight
-         */
-        public int getWeight() {
-            return weight;
-        }
-
-        /**
-         * setter of weight
-         * @param weight
-         */
-        public void setWeight(int weight) {
-            this.weight = weight;
-        }
     }
 
     /**
@@ -331,8 +441,7 @@ public class Graph<Data extends Comparable<Data>> {
     public class Edge {
 
         /**
-         * Weight of one edge in graph
-         * Because we have unweighted graph, we have constant weight
+         * Weight of edge that is added without weight
          */
         private static final int EDGE_WEIGHT = 1;
 
@@ -351,6 +460,16 @@ public class Graph<Data extends Comparable<Data>> {
          */
         private int index = -1;
 
+        /**
+         * Weight of edge, the same in both directions
+         */
+        private final int weight;
+
+        /**
+         * Edge in list of end vertex that goes back to start vertex, null if edge was added to vertex directly
+         */
+        private Edge reverse = null;
+
         /**
          * Constructor of edge
          * @param from start vertex
@@ -358,9 +477,21 @@ public class Graph<Data extends Comparable<Data>> {
          * @param index index in list of edges in start vertex
          */
         public Edge(Vertex from, Vertex to, int index) {
+            this(from, to, index, EDGE_WEIGHT);
+        }
+
+        /**
+         * Constructor of weighted edge
+         * @param from start vertex
+         * @param to end vertex
+         * @param index index in list of edges in start vertex
+         * @param weight weight of edge
+         */
+        public Edge(Vertex from, Vertex to, int index, int weight) {
             this.from = from;
             this.to = to;
             this.index = index;
+            this.weight = weight;
         }
 
         /**
@@ -387,28 +518,123 @@ public class Graph<Data extends Comparable<Data>> {
             return index;
         }
 
+        /**
+         * Getter to weight
+         * @return weight
+         */
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Getter to edge in opposite direction
+         * @return reverse edge or null
+         */
+        Edge getReverse() {
+            return reverse;
+        }
+
         @Override
         public String toString() {
             return "Edge{" +
                     "from=" + from +
                     ", to=" + to +
                     ", index=" + index +
+                    ", weight=" + weight +
                     '}';
         }
     }
 
+    /**
+     * Class to represent path in graph
+     * Path is stored as compact array of indexes of its vertices
+     */
+    public class Path implements Iterable<Vertex> {
+
+        /**
+         * Indexes of vertices of path, from first to last
+         */
+        private final int[] indexes;
+
+        /**
+         * Constructor of path
+         * @param indexes indexes of vertices of path, array is used without copying
+         */
+        protected Path(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        /**
+         * Getter of quantity of vertices in path
+         * @return quantity of vertices
+         */
+        public int size() {
+            return indexes.length;
+        }
+
+        /**
+         * Getter of quantity of edges in path
+         * @return quantity of edges
+         */
+        public int getLength() {
+            return indexes.length - 1;
+        }
+
+        /**
+         * Method to get index of vertex of path
+         * @param i position of vertex in path
+         * @return index of vertex
+         */
+        public int getIndex(int i) {
+            return indexes[i];
+        }
+
+        /**
+         * Method to get vertex of path
+         * @param i position of vertex in path
+         * @return vertex
+         */
+        public Vertex get(int i) {
+            return vertices.get(indexes[i]);
+        }
+
+        @Override
+        public Iterator<Vertex> iterator() {
+            return new Iterator<Vertex>() {
+                private int position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return position < indexes.length;
+                }
+
+                @Override
+                public Vertex next() {
+                    if(!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(position++);
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("Path{");
+            for(int i = 0; i < indexes.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(get(i).getData());
+            }
+            return builder.append('}').toString();
+        }
+    }
+
     /**
      * Method to get vertex by data
      * @param data data to be searched by
      * @return Vertex with this data or null if vertex with this data is not exists
      */
     public Vertex getVertex(Data data) {
-        for(Vertex current : vertices) {
-            if(current.getData().equals(data)) {
-                return current;
-            }
-        }
-        return null;
+        return index.get(data);
     }
 
     /**
@@ -431,10 +657,17 @@ public class Graph<Data extends Comparable<Data>> {
         }
         Vertex vertex = new Vertex(data, vertices.size());
         vertices.add(vertex);
+        index.put(data, vertex);
+        if(components != null) {
+            components.add();
+            componentLabels = null;
+        }
+        cutIndex = null;
+        frozen = null;
     }
 
     /**
-     * Removes vertex with given data
+     * Removes vertex with given data and all its edges
      * @param data data to find vertex
      * @return true if vertex with this data exists else false
      */
@@ -443,7 +676,37 @@ public class Graph<Data extends Comparable<Data>> {
         if(vertex == null) {
             throw new GraphNotContainsThisVertexError(data.toString());
         }
+        vertex.deleteAllEdges();
         this.vertices.set(vertex.getIndex(), null);
+        index.remove(data);
+        removedVertices++;
+        components = null;
+        componentLabels = null;
+        cutIndex = null;
+        frozen = null;
+        if(removedVertices > vertices.size() / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Method to remove holes, left in list of vertices by removed vertices
+     * Indexes of vertices are changed, so paths and sets of vertex indexes got before compaction become invalid
+     */
+    public void compact() {
+        List<Vertex> compacted = new ArrayList<>(index.size());
+        for(Vertex vertex : vertices) {
+            if(vertex != null) {
+                vertex.index = compacted.size();
+                compacted.add(vertex);
+            }
+        }
+        vertices = compacted;
+        removedVertices = 0;
+        components = null;
+        componentLabels = null;
+        cutIndex = null;
+        frozen = null;
     }
 
     /**
@@ -483,16 +746,84 @@ public class Graph<Data extends Comparable<Data>> {
         Vertex vertexTo = getVertex(to);
         checkVertex(vertexTo, to);
 
-        // Find and check edges
-        Edge edgeFrom = vertexFrom.getEdge(vertexTo);
-        checkEdge(edgeFrom, vertexFrom, vertexTo);
-        Edge edgeTo = vertexTo.getEdge(vertexFrom);
-        checkEdge(edgeFrom, vertexTo, vertexFrom);
+        // Find, check and remove edge
+        Edge edge = vertexFrom.getEdge(vertexTo);
+        checkEdge(edge, vertexFrom, vertexTo);
+        removeEdge(edge);
+    }
+
+    /**
+     * Removes edge in both directions
+     * Reverse edge is taken from link, so parallel edges with different weights are never mixed
+     * @param edge edge of start vertex
+     */
+    private void removeEdge(Edge edge) {
+        Edge reverse = edge.reverse;
+        edge.getFrom().removeEdge(edge);
+        if(reverse == null) {  // edge was added to vertex directly, reverse edge is searched after removing, so loop is removed twice
+            reverse = edge.getTo().getEdge(edge.getFrom());
+            checkEdge(reverse, edge.getTo(), edge.getFrom());
+        }
+        edge.getTo().removeEdge(reverse);
+    }
+
+    /**
+     * Removes all edges that match at least one of rules in single pass over graph
+     * Attribute of every vertex is computed once before the pass and rules are checked on attributes of ends of edge.
+     * Edge is removed in both directions if rule matches it in any direction
+     * @param attribute function to compute attribute of vertex from its data
+     * @param rules predicates over attributes of start and end vertex of edge
+     * @param parallel true to compute attributes and find matching edges in parallel
+     * @param <A> type of attribute
+     * @return quantity of removed edges
+     */
+    public <A> int removeEdgesIf(Function<Data, A> attribute, Collection<BiPredicate<A, A>> rules, boolean parallel) {
+        int size = vertices.size();
+        List<A> attributes = new ArrayList<>(Collections.nCopies(size, null));
+        IntStream range = parallel ? IntStream.range(0, size).parallel() : IntStream.range(0, size);
+        range.forEach(i -> {
+            if(vertices.get(i) != null) {
+                attributes.set(i, attribute.apply(vertices.get(i).getData()));
+            }
+        });
 
+        // edges are only found in parallel, graph is changed after that by one thread
+        List<List<Edge>> matched = new ArrayList<>(Collections.nCopies(size, null));
+        range = parallel ? IntStream.range(0, size).parallel() : IntStream.range(0, size);
+        range.forEach(i -> {
+            Vertex vertex = vertices.get(i);
+            if(vertex == null) {
+                return;
+            }
+            List<Edge> edges = null;
+            for(Edge edge : vertex.incidents) {
+                for(BiPredicate<A, A> rule : rules) {
+                    if(rule.test(attributes.get(i), attributes.get(edge.getTo().getIndex()))) {
+                        if(edges == null) {
+                            edges = new ArrayList<>();
+                        }
+                        edges.add(edge);
+                        break;
+                    }
+                }
+            }
+            matched.set(i, edges);
+        });
 
-        // Removing of edges
-        vertexFrom.setEdgeToNull(edgeFrom);
-        vertexTo.setEdgeToNull(edgeTo);
+        int removed = 0;
+        for(List<Edge> edges : matched) {
+            if(edges == null) {
+                continue;
+            }
+            for(Edge edge : edges) {
+                if(edge.index == -1) {  // already removed as reverse of other matched edge
+                    continue;
+                }
+                removeEdge(edge);
+                removed++;
+            }
+        }
+        return removed;
     }
 
     /**
@@ -507,39 +838,559 @@ public class Graph<Data extends Comparable<Data>> {
         Vertex vertexTo = getVertex(to);
         checkVertex(vertexTo, to);
 
-        vertexFrom.addEdge(vertexTo);
-        vertexTo.addEdge(vertexFrom);
+        addEdge(vertexFrom, vertexTo);
     }
 
     /**
-     * Method to load graph data from file
-     * File must contain two lines:
-     * First line contains names of all vertices in graph splitted by whitespace
-     * Second line contains edges between vertices. Edges represented as pairs of names of vertices
-     * @param path path to file
-     * @return New graph, builded from data in file
+     * Method to add edge between two vertices of this graph
+     * @param from start vertex
+     * @param to end vertex
+     */
+    protected void addEdge(Vertex from, Vertex to) {
+        addEdge(from, to, Edge.EDGE_WEIGHT);
+    }
+
+    /**
+     * Method to add weighted edge between two vertices
+     * @param from data, contained in start vertex
+     * @param to data, contained in end vertex
+     * @param weight weight of edge, must not be negative
+     */
+    protected void addEdge(Data from, Data to, int weight) {
+        Vertex vertexFrom = getVertex(from);
+        checkVertex(vertexFrom, from);
+        Vertex vertexTo = getVertex(to);
+        checkVertex(vertexTo, to);
+
+        addEdge(vertexFrom, vertexTo, weight);
+    }
+
+    /**
+     * Method to add weighted edge between two vertices of this graph
+     * @param from start vertex
+     * @param to end vertex
+     * @param weight weight of edge, must not be negative
+     */
+    protected void addEdge(Vertex from, Vertex to, int weight) {
+        if(weight < 0) {
+            throw new IllegalArgumentException("Weight of edge must not be negative: " + weight);
+        }
+        Edge edge = from.addEdge(to, weight);
+        Edge reverse = to.addEdge(from, weight);
+        edge.reverse = reverse;
+        reverse.reverse = edge;
+    }
+
+    /**
+     * Checks does graph have edges with weight other than one
+     * @return true if edges have own weights, else false
+     */
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    /**
+     * Method to start new query
+     * Returns context of current thread, that is already reset for this graph
+     * @return context of query
+     */
+    protected TraversalContext newQuery() {
+        TraversalContext context = contexts.get();
+        context.reset(vertices.size());
+        return context;
+    }
+
+    /**
+     * Method that go by parents from end vertex to first and constructs path
+     * @param finish index of last vertex of path
+     * @param context context of query with parents of vertices
+     * @return path
+     */
+    protected Path getPath(int finish, TraversalContext context) {
+        return new Path(context.getPath(finish));
+    }
+
+    /**
+     * Implementation of Dijstra's algorithm
+     * Next vertex is taken from heap of int pairs without boxing, so query runs in O((V + E) log E)
+     * @param from data of first vertex in the path
+     * @param to data of last vertex int the path
+     * @return path
+     */
+    public Path dijkstra(Data from, Data to) {
+        Vertex fromVertex = getVertex(from);
+        checkVertex(fromVertex, from);
+        Vertex toVertex = getVertex(to);
+        checkVertex(toVertex, to);
+
+        TraversalContext context = newQuery();
+        context.reach(fromVertex.getIndex(), 0, fromVertex.getIndex());
+
+        IntPayloadHeap heap = context.getPayloadHeap();
+        heap.add(0, fromVertex.getIndex());
+        while(!heap.isEmpty()) {
+            Vertex current = vertices.get(heap.getMin());
+            if(context.isVisited(current.getIndex())) {
+                continue;  // old pair, vertex was settled with smaller distance
+            }
+            if(current == toVertex) {
+                break;  // distance to end vertex is final, so other vertices are not needed
+            }
+            current.dijkstra(context);
+        }
+
+        if(!context.isReached(toVertex.getIndex())) {
+            throw new GraphNotContainsPathError(from.toString(), to.toString());
+        }
+        return getPath(toVertex.getIndex(), context);
+    }
+
+    /**
+     * Implementation of A* algorithm
+     * Vertices are taken from heap of int pairs by distance from start plus estimate of distance to end,
+     * so search goes towards end vertex and settles less vertices than Dijkstra's algorithm
+     * @param from data of first vertex in the path
+     * @param to data of last vertex int the path
+     * @param heuristic consistent estimate of distance between vertices, given by their indexes
+     * @return path
+     */
+    public Path aStar(Data from, Data to, Heuristic heuristic) {
+        Vertex fromVertex = getVertex(from);
+        checkVertex(fromVertex, from);
+        Vertex toVertex = getVertex(to);
+        checkVertex(toVertex, to);
+        int target = toVertex.getIndex();
+
+        TraversalContext context = newQuery();
+        context.reach(fromVertex.getIndex(), 0, fromVertex.getIndex());
+
+        IntPayloadHeap heap = context.getPayloadHeap();
+        heap.add(heuristic.estimate(fromVertex.getIndex(), target), fromVertex.getIndex());
+        while(!heap.isEmpty()) {
+            int vertex = heap.getMin();
+            if(context.isVisited(vertex)) {
+                continue;  // old pair, vertex was settled with smaller estimate
+            }
+            if(vertex == target) {
+                break;
+            }
+            context.setVisited(vertex);
+            for(Edge edge : vertices.get(vertex).incidents) {
+                int neighbour = edge.getTo().getIndex();
+                if(context.isVisited(neighbour)) {
+                    continue;
+                }
+                int neighbourDistance = context.getDistance(vertex) + edge.getWeight();
+                if(neighbourDistance < context.getDistance(neighbour)) {
+                    context.reach(neighbour, neighbourDistance, vertex);
+                    heap.add(neighbourDistance + heuristic.estimate(neighbour, target), neighbour);
+                }
+            }
+        }
+
+        if(!context.isReached(target)) {
+            throw new GraphNotContainsPathError(from.toString(), to.toString());
+        }
+        return getPath(target, context);
+    }
+
+    /**
+     * Method to find shortest path, Dijkstra's algorithm is used for weighted graph
+     * Unweighted graph is searched by bidirectional breadth first search:
+     * searches go level by level from both ends, each time the side with smaller frontier is expanded,
+     * and stop at first vertex reached by both of them
+     * @param from data of first vertex in the path
+     * @param to data of last vertex in the path
+     * @return path
+     */
+    public Path shortestPath(Data from, Data to) {
+        if(weighted) {
+            return dijkstra(from, to);
+        }
+        Vertex fromVertex = getVertex(from);
+        checkVertex(fromVertex, from);
+        Vertex toVertex = getVertex(to);
+        checkVertex(toVertex, to);
+
+        TraversalContext context = newQuery();
+        int meeting = context.bidirectionalSearch(fromVertex.getIndex(), toVertex.getIndex(), adjacency);
+        if(meeting == -1) {
+            throw new GraphNotContainsPathError(from.toString(), to.toString());
+        }
+        return getPath(meeting, context);
+    }
+
+    /**
+     * Traversal of all vertices reachable from start vertex without recursion
+     * Buffer of context is used as stack for depth first order or as queue for breadth first order
+     * @param start start vertex
+     * @param depthFirst true for depth first order, false for breadth first order
+     * @param context context of query, all reached vertices are set visited in it
+     * @return quantity of reached vertices
+     */
+    protected int traverse(Vertex start, boolean depthFirst, TraversalContext context) {
+        int[] pending = context.getBuffer();
+        int head = 0;
+        int tail = 0;
+        int count = 1;
+        pending[tail++] = start.getIndex();
+        context.setVisited(start.getIndex());
+        while(head < tail) {
+            Vertex vertex = vertices.get(depthFirst ? pending[--tail] : pending[head++]);
+            for(Edge edge : vertex.incidents) {
+                int neighbour = edge.getTo().getIndex();
+                if(!context.isVisited(neighbour)) {
+                    context.setVisited(neighbour);
+                    pending[tail++] = neighbour;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method to collect visited vertices of query to set
+     * @param context context of finished query
+     * @return set of indexes of visited vertices
+     */
+    private BitSet getVisited(TraversalContext context) {
+        BitSet visited = new BitSet(vertices.size());
+        for(int i = 0; i < vertices.size(); i++) {
+            if(context.isVisited(i)) {
+                visited.set(i);
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Depth first search algorithm with explicit stack
+     * @param from data of start vertex
+     * @return set of indexes of all vertices reachable from start vertex
+     */
+    public BitSet dfs(Data from) {
+        Vertex start = getVertex(from);
+        checkVertex(start, from);
+        TraversalContext context = newQuery();
+        traverse(start, true, context);
+        return getVisited(context);
+    }
+
+    /**
+     * Breadth first search algorithm with explicit queue
+     * @param from data of start vertex
+     * @return set of indexes of all vertices reachable from start vertex
+     */
+    public BitSet bfs(Data from) {
+        Vertex start = getVertex(from);
+        checkVertex(start, from);
+        TraversalContext context = newQuery();
+        traverse(start, false, context);
+        return getVisited(context);
+    }
+
+    /**
+     * Breadth first search that changes direction by size of frontier
+     * Small frontier is expanded top-down, by edges of its vertices. When frontier is big, most of its edges
+     * lead to visited vertices, so search goes bottom-up: every not visited vertex looks for its neighbour
+     * in frontier and stops at first one. Frontier and visited vertices are bitsets of indexes
+     * @param start start vertex
+     * @param visited bitset of visited vertices, filled by search
+     * @return quantity of reached vertices
+     */
+    protected int directionOptimizingTraverse(Vertex start, long[] visited) {
+        int size = vertices.size();
+        long[] frontier = new long[visited.length];
+        long[] next = new long[visited.length];
+        long unexploredEdges = 0;
+        for(Vertex vertex : vertices) {
+            if(vertex != null) {
+                unexploredEdges += vertex.incidents.size();
+            }
+        }
+
+        int first = start.getIndex();
+        visited[first >>> 6] |= 1L << first;
+        frontier[first >>> 6] |= 1L << first;
+        int frontierSize = 1;
+        long frontierEdges = start.incidents.size();
+        unexploredEdges -= frontierEdges;
+        int count = 1;
+        boolean bottomUp = false;
+        while(frontierSize > 0) {
+            if(!bottomUp && frontierEdges > unexploredEdges / TOP_DOWN_ALPHA) {
+                bottomUp = true;
+            }
+            else if(bottomUp && frontierSize < size / BOTTOM_UP_BETA) {
+                bottomUp = false;
+            }
+
+            Arrays.fill(next, 0);
+            int nextSize = 0;
+            long nextEdges = 0;
+            if(bottomUp) {
+                for(int vertex = 0; vertex < size; vertex++) {
+                    if((visited[vertex >>> 6] & (1L << vertex)) != 0 || vertices.get(vertex) == null) {
+                        continue;
+                    }
+                    for(Edge edge : vertices.get(vertex).incidents) {
+                        int neighbour = edge.getTo().getIndex();
+                        if((frontier[neighbour >>> 6] & (1L << neighbour)) != 0) {
+                            visited[vertex >>> 6] |= 1L << vertex;
+                            next[vertex >>> 6] |= 1L << vertex;
+                            nextSize++;
+                            nextEdges += vertices.get(vertex).incidents.size();
+                            break;
+                        }
+                    }
+                }
+            }
+            else {
+                for(int word = 0; word < frontier.length; word++) {
+                    for(long bits = frontier[word]; bits != 0; bits &= bits - 1) {
+                        int vertex = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        for(Edge edge : vertices.get(vertex).incidents) {
+                            int neighbour = edge.getTo().getIndex();
+                            if((visited[neighbour >>> 6] & (1L << neighbour)) == 0) {
+                                visited[neighbour >>> 6] |= 1L << neighbour;
+                                next[neighbour >>> 6] |= 1L << neighbour;
+                                nextSize++;
+                                nextEdges += edge.getTo().incidents.size();
+                            }
+                        }
+                    }
+                }
+            }
+
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+            frontierEdges = nextEdges;
+            unexploredEdges -= nextEdges;
+            count += nextSize;
+        }
+        return count;
+    }
+
+    /**
+     * Direction optimizing breadth first search, see directionOptimizingTraverse
+     * @param from data of start vertex
+     * @return set of indexes of all vertices reachable from start vertex
+     */
+    public BitSet directionOptimizingBfs(Data from) {
+        Vertex start = getVertex(from);
+        checkVertex(start, from);
+        long[] visited = new long[(vertices.size() + 63) >>> 6];
+        directionOptimizingTraverse(start, visited);
+        return BitSet.valueOf(visited);
+    }
+
+    /**
+     * Method to check if all vertices of graph can be reached from given vertex
+     * Graph is undirected, so it is answered by index of connected components without traversal
+     * @param from data of start vertex
+     * @return true if all vertices are reachable, else false
+     */
+    public boolean isAllReachableFrom(Data from) {
+        Vertex start = getVertex(from);
+        checkVertex(start, from);
+        return isConnected();
+    }
+
+    /**
+     * Method to check if all vertices of graph can be reached from given vertex by traversal of graph
+     * Result is the same as result of method without traversal mode
+     * @param from data of start vertex
+     * @param directionOptimizing true for direction optimizing breadth first search, false for depth first search
+     * @return true if all vertices are reachable, else false
+     */
+    public boolean isAllReachableFrom(Data from, boolean directionOptimizing) {
+        Vertex start = getVertex(from);
+        checkVertex(start, from);
+        if(directionOptimizing) {
+            return directionOptimizingTraverse(start, new long[(vertices.size() + 63) >>> 6]) == index.size();
+        }
+        return traverse(start, true, newQuery()) == index.size();
+    }
+
+    /**
+     * Method to get index of connected components, builds it if it was dropped
+     * Holes left by removed vertices are counted as separate components
+     * @return index of components
+     */
+    private synchronized UnionFind getComponents() {
+        if(components == null) {
+            UnionFind built = new UnionFind(vertices.size());
+            for(Vertex vertex : vertices) {
+                if(vertex == null) {
+                    continue;
+                }
+                for(Edge edge : vertex.incidents) {
+                    built.union(vertex.getIndex(), edge.getTo().getIndex());
+                }
+            }
+            components = built;
+        }
+        return components;
+    }
+
+    /**
+     * Getter of quantity of connected components
+     * @return quantity of components
+     */
+    public int getComponentCount() {
+        return getComponents().getCount() - removedVertices;
+    }
+
+    /**
+     * Checks is graph connected
+     * @return true if all vertices of graph are in one component, else false
+     */
+    public boolean isConnected() {
+        return getComponentCount() <= 1;
+    }
+
+    /**
+     * Checks are two vertices in the same connected component
+     * @param first data of first vertex
+     * @param second data of second vertex
+     * @return true if there is path between vertices, else false
+     */
+    public boolean isConnected(Data first, Data second) {
+        Vertex firstVertex = getVertex(first);
+        checkVertex(firstVertex, first);
+        Vertex secondVertex = getVertex(second);
+        checkVertex(secondVertex, second);
+        return getComponents().isConnected(firstVertex.getIndex(), secondVertex.getIndex());
+    }
+
+    /**
+     * Method to get index of bridges of graph, builds it if graph was changed after last request
+     * @return index of bridges
+     */
+    public synchronized CutIndex<Data> getCutIndex() {
+        if(cutIndex == null) {
+            cutIndex = new CutIndex<>(this);
+        }
+        return cutIndex;
+    }
+
+    /**
+     * Method to get numbers of components of all vertices
+     * Components are numbered from 0 in order of their first vertices
+     * @return array indexed by indexes of vertices, contains -1 for holes left by removed vertices
+     */
+    public synchronized int[] getComponentLabels() {
+        if(componentLabels == null) {
+            UnionFind components = getComponents();
+            int[] labels = new int[vertices.size()];
+            int[] rootLabels = new int[vertices.size()];
+            Arrays.fill(rootLabels, -1);
+            int count = 0;
+            for(int i = 0; i < labels.length; i++) {
+                if(vertices.get(i) == null) {
+                    labels[i] = -1;
+                    continue;
+                }
+                int root = components.find(i);
+                if(rootLabels[root] == -1) {
+                    rootLabels[root] = count++;
+                }
+                labels[i] = rootLabels[root];
+            }
+            componentLabels = labels;
+        }
+        return componentLabels.clone();
+    }
+
+    /**
+     * Method to build table of distances between many vertices
+     * Graph is frozen once and kept until it is changed, searches from all start vertices run on frozen copy in parallel
+     * @param from data of start vertices
+     * @param to data of end vertices
+     * @return table, where row i contains distances from start vertex i to all end vertices,
+     * Integer.MAX_VALUE for unreachable vertices
+     */
+    public int[][] getDistanceTable(List<Data> from, List<Data> to) {
+        return getFrozen().getDistanceTable(from, to);
+    }
+
+    /**
+     * Method to get frozen copy of graph, freezes graph if it was changed after last request
+     * @return frozen graph
      */
-    public static Graph<String> loadFromFile(String path) throws FileNotFoundException {
-        // reading data from file
-        File file = new File(path);
-        String vertices[];
-        String edges[];
-        Scanner sc = new Scanner(file);
-        vertices = sc.nextLine().split(" ");
-        edges = sc.nextLine().split(" ");
-        sc.close();
+    private synchronized FrozenGraph<Data> getFrozen() {
+        if(frozen == null) {
+            frozen = freeze();
+        }
+        return frozen;
+    }
 
-        // creation and initialisation of graph
-        Graph<String> graph = new Graph<>();
+    /**
+     * Method to build immutable compressed copy of this graph
+     * Removed vertices are skipped, so ids of vertices in frozen graph can differ from indexes of vertices
+     * @return frozen graph with the same vertices and edges
+     */
+    public FrozenGraph<Data> freeze() {
+        int[] ids = new int[vertices.size()];
+        Arrays.fill(ids, -1);
+        int count = 0;
+        for(Vertex vertex : vertices) {
+            if(vertex != null) {
+                ids[vertex.getIndex()] = count++;
+            }
+        }
 
-        for(String data : vertices) {
-            graph.addData(data);
+        Object[] data = new Object[count];
+        int[] offsets = new int[count + 1];
+        for(Vertex vertex : vertices) {
+            if(vertex == null) {
+                continue;
+            }
+            int id = ids[vertex.getIndex()];
+            data[id] = vertex.getData();
+            offsets[id + 1] = vertex.incidents.size();
+        }
+        for(int i = 0; i < count; i++) {
+            offsets[i + 1] += offsets[i];
         }
 
-        for(int i = 0; i < edges.length; i+=2) {
-            graph.addEdge(edges[i], edges[i+1]);
+        int[] targets = new int[offsets[count]];
+        int[] weights = weighted ? new int[offsets[count]] : null;
+        int position = 0;
+        for(Vertex vertex : vertices) {
+            if(vertex == null) {
+                continue;
+            }
+            for(Edge edge : vertex.incidents) {
+                if(weights != null) {
+                    weights[position] = edge.getWeight();
+                }
+                targets[position++] = ids[edge.getTo().getIndex()];
+            }
         }
+        return new FrozenGraph<>(data, offsets, targets, weights);
+    }
 
-        return graph;
+    /**
+     * Method to create view of this graph without any hidden edges or vertices
+     * @return view of this graph
+     */
+    public GraphView<Data> view() {
+        return new GraphView<>(this);
+    }
+
+    /**
+     * Method to load graph data from file
+     * File must contain two lines:
+     * First line contains names of all vertices in graph splitted by whitespace
+     * Second line contains edges between vertices. Edges represented as pairs of names of vertices
+     * @param path path to file
+     * @return New graph, builded from data in file
+     */
+    public static Graph<String> loadFromFile(String path) throws IOException {
+        return GraphLoader.load(path, new Graph<String>());
     }
 }
@@ -0,0 +1,68 @@
+package data_srtuctures;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk builder of frozen graph from arrays of vertices and edges
+ * All steps are done by parallel streams: data is resolved to ids, degrees are counted with atomic counters,
+ * and then compressed sparse row arrays are filled in one pass over edges
+ */
+public class GraphBuilder {
+
+    /**
+     * Method to build frozen graph
+     * @param vertices data of all vertices, ids of vertices are positions in this array
+     * @param edges edges represented as pairs of data of vertices, the same as second line of graph file
+     * @param <Data> type of data
+     * @return frozen graph, neighbours of every vertex are sorted by id
+     */
+    public static <Data extends Comparable<Data>> FrozenGraph<Data> build(Data[] vertices, Data[] edges) {
+        if(edges.length % 2 != 0) {
+            throw new GraphLoader.DanglingEdgeError(edges[edges.length - 1].toString());
+        }
+        int vertexCount = vertices.length;
+        int edgeCount = edges.length / 2;
+
+        Map<Data, Integer> ids = new ConcurrentHashMap<>(vertexCount * 2);
+        IntStream.range(0, vertexCount).parallel().forEach(i -> {
+            if(ids.putIfAbsent(vertices[i], i) != null) {
+                throw new Graph.GraphAlreadyContainsThisVertexError();
+            }
+        });
+
+        int[] ends = new int[edgeCount * 2];
+        AtomicIntegerArray degrees = new AtomicIntegerArray(vertexCount);
+        IntStream.range(0, ends.length).parallel().forEach(i -> {
+            Integer id = ids.get(edges[i]);
+            if(id == null) {
+                throw new Graph.GraphNotContainsThisVertexError(edges[i].toString());
+            }
+            ends[i] = id;
+            degrees.incrementAndGet(id);
+        });
+
+        int[] offsets = new int[vertexCount + 1];
+        for(int i = 0; i < vertexCount; i++) {
+            offsets[i + 1] = degrees.get(i);
+        }
+        Arrays.parallelPrefix(offsets, Integer::sum);
+
+        // positions of next free place of every vertex in targets array
+        AtomicIntegerArray cursors = new AtomicIntegerArray(Arrays.copyOf(offsets, vertexCount));
+        int[] targets = new int[offsets[vertexCount]];
+        IntStream.range(0, edgeCount).parallel().forEach(i -> {
+            int from = ends[2 * i];
+            int to = ends[2 * i + 1];
+            targets[cursors.getAndIncrement(from)] = to;
+            targets[cursors.getAndIncrement(to)] = from;
+        });
+        // order of filling depends on threads, so neighbours are sorted to make result stable
+        IntStream.range(0, vertexCount).parallel().forEach(v -> Arrays.sort(targets, offsets[v], offsets[v + 1]));
+
+        return new FrozenGraph<>(Arrays.copyOf(vertices, vertexCount, Object[].class), offsets, targets, null, ids);
+    }
+}
@@ -0,0 +1,220 @@
+package data_srtuctures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming loader of graph from text file
+ * File must contain two lines:
+ * First line contains names of all vertices in graph splitted by whitespace
+ * Second line contains edges between vertices. Edges represented as pairs of names of vertices
+ * File is read by blocks from channel and edges are added to graph as soon as both names are read,
+ * so lines are never stored as whole. Each name becomes String only once, when vertex is created
+ */
+public class GraphLoader {
+
+    /**
+     * Exception that raises when list of edges has name of start vertex without name of end vertex
+     */
+    public static class DanglingEdgeError extends Error {
+        public DanglingEdgeError(String path, String from) {
+            super("Edge from: " + from + " has no end vertex in file: " + path);
+        }
+
+        public DanglingEdgeError(String from) {
+            super("Edge from: " + from + " has no end vertex");
+        }
+    }
+
+    /**
+     * Size of block that is read from file at once
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Hash table from name of vertex in bytes to vertex
+     * Used to find vertices of edges without creation of String for every name
+     * @param <V> type of vertex
+     */
+    private static class NameTable<V> {
+
+        /**
+         * Names of vertices in bytes
+         */
+        private byte[][] keys = new byte[16][];
+
+        /**
+         * Vertices, in the same slots as names
+         */
+        private List<V> values = new ArrayList<>(Collections.nCopies(16, null));
+
+        /**
+         * Quantity of names in table
+         */
+        private int size = 0;
+
+        /**
+         * Hash of part of array
+         * @param bytes array
+         * @param length quantity of bytes from start of array
+         * @return hash
+         */
+        private static int hash(byte[] bytes, int length) {
+            int hash = 0;
+            for(int i = 0; i < length; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        /**
+         * Compares stored name with part of array
+         * @param key stored name
+         * @param bytes array
+         * @param length quantity of bytes from start of array
+         * @return true if bytes are the same, else false
+         */
+        private static boolean equals(byte[] key, byte[] bytes, int length) {
+            if(key.length != length) {
+                return false;
+            }
+            for(int i = 0; i < length; i++) {
+                if(key[i] != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Method to find slot of name
+         * @param bytes array with name
+         * @param length length of name
+         * @return slot of this name or free slot where it should be placed
+         */
+        private int find(byte[] bytes, int length) {
+            int mask = keys.length - 1;
+            int slot = hash(bytes, length) & mask;
+            while(keys[slot] != null) {
+                byte[] key = keys[slot];
+                if(equals(key, bytes, length)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Method to get vertex by name
+         * @param bytes array with name
+         * @param length length of name
+         * @return vertex or null if there is no vertex with this name
+         */
+        V get(byte[] bytes, int length) {
+            return values.get(find(bytes, length));
+        }
+
+        /**
+         * Method to add vertex with name
+         * @param bytes array with name
+         * @param length length of name
+         * @param value vertex
+         */
+        void put(byte[] bytes, int length, V value) {
+            if(2 * (size + 1) > keys.length) {
+                byte[][] oldKeys = keys;
+                List<V> oldValues = values;
+                keys = new byte[oldKeys.length * 2][];
+                values = new ArrayList<>(Collections.nCopies(oldKeys.length * 2, null));
+                for(int i = 0; i < oldKeys.length; i++) {
+                    if(oldKeys[i] != null) {
+                        int slot = find(oldKeys[i], oldKeys[i].length);
+                        keys[slot] = oldKeys[i];
+                        values.set(slot, oldValues.get(i));
+                    }
+                }
+            }
+            int slot = find(bytes, length);
+            if(keys[slot] == null) {
+                size++;
+            }
+            keys[slot] = Arrays.copyOf(bytes, length);
+            values.set(slot, value);
+        }
+    }
+
+    /**
+     * Method to load graph data from file to given graph
+     * @param path path to file
+     * @param graph empty graph to fill
+     * @param <G> type of graph
+     * @return the same graph, filled by data from file
+     */
+    public static <G extends Graph<String>> G load(String path, G graph) throws IOException {
+        NameTable<Graph<String>.Vertex> names = new NameTable<>();
+        byte[] token = new byte[64];
+        int tokenLength = 0;
+        int line = 0;
+        Graph<String>.Vertex from = null;
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            boolean end = false;
+            while(!end && line < 2) {
+                buffer.clear();
+                end = channel.read(buffer) == -1;
+                buffer.flip();
+                int limit = end ? buffer.limit() + 1 : buffer.limit();  // one more step to finish last token
+                for(int i = 0; i < limit && line < 2; i++) {
+                    byte current = i < buffer.limit() ? buffer.get(i) : (byte)'\n';
+                    if(current != ' ' && current != '\n' && current != '\r' && current != '\t') {
+                        if(tokenLength == token.length) {
+                            token = Arrays.copyOf(token, token.length * 2);
+                        }
+                        token[tokenLength++] = current;
+                        continue;
+                    }
+
+                    if(tokenLength > 0) {
+                        if(line == 0) {
+                            String data = new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+                            graph.addData(data);
+                            names.put(token, tokenLength, graph.getVertex(data));
+                        }
+                        else {
+                            Graph<String>.Vertex vertex = names.get(token, tokenLength);
+                            if(vertex == null) {
+                                throw new Graph.GraphNotContainsThisVertexError(
+                                        new String(token, 0, tokenLength, StandardCharsets.UTF_8));
+                            }
+                            if(from == null) {
+                                from = vertex;
+                            }
+                            else {
+                                graph.addEdge(from, vertex);
+                                from = null;
+                            }
+                        }
+                        tokenLength = 0;
+                    }
+                    if(current == '\n') {
+                        line++;
+                    }
+                }
+            }
+        }
+        if(from != null) {  // odd quantity of names in line of edges
+            throw new DanglingEdgeError(path, from.getData());
+        }
+        return graph;
+    }
+}
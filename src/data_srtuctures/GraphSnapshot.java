@@ -0,0 +1,223 @@
+package data_srtuctures;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Binary snapshot of graph with string data
+ * File consists of header, table of names and compressed sparse row arrays of frozen graph.
+ * All numbers are big-endian ints, names are stored in UTF-8 at the end of file, so int arrays are aligned.
+ * Snapshot is opened by memory mapping and int arrays are copied from it as whole blocks, without parsing
+ *
+ * Layout:
+ * magic, version, vertex count V, edge count E, flags (1 if graph is weighted),
+ * int[V + 1] offsets of names in names block, int[V + 1] offsets, int[E] targets, int[E] weights if weighted,
+ * names block
+ */
+public class GraphSnapshot {
+
+    /**
+     * Exception that raises on opening of file that is not snapshot of graph
+     */
+    public static class NotSnapshotError extends Error {
+        public NotSnapshotError(String path) {
+            super("File is not graph snapshot or has unsupported version: " + path);
+        }
+    }
+
+    /**
+     * First int of every snapshot
+     */
+    private static final int MAGIC = 0x47534E50;
+
+    /**
+     * Version of format
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Flag of weighted graph
+     */
+    private static final int WEIGHTED = 1;
+
+    /**
+     * Quantity of ints in header
+     */
+    private static final int HEADER_SIZE = 5;
+
+    /**
+     * Method to write frozen graph to snapshot file
+     * @param graph graph to write
+     * @param path path to file
+     */
+    public static void write(FrozenGraph<String> graph, String path) throws IOException {
+        int vertexCount = graph.getVertexCount();
+        byte[][] names = new byte[vertexCount][];
+        int[] nameOffsets = new int[vertexCount + 1];
+        for(int i = 0; i < vertexCount; i++) {
+            names[i] = graph.getData(i).getBytes(StandardCharsets.UTF_8);
+            nameOffsets[i + 1] = nameOffsets[i] + names[i].length;
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(vertexCount);
+            output.writeInt(graph.getEdgeCount());
+            output.writeInt(graph.isWeighted() ? WEIGHTED : 0);
+            writeInts(output, nameOffsets);
+            writeInts(output, graph.getOffsets());
+            writeInts(output, graph.getTargets());
+            if(graph.isWeighted()) {
+                writeInts(output, graph.getWeights());
+            }
+            for(byte[] name : names) {
+                output.write(name);
+            }
+        }
+    }
+
+    /**
+     * Method to write graph to snapshot file
+     * @param graph graph to write, it is frozen before writing
+     * @param path path to file
+     */
+    public static void write(Graph<String> graph, String path) throws IOException {
+        write(graph.freeze(), path);
+    }
+
+    /**
+     * Method to write all elements of array
+     * @param output stream to write
+     * @param array array to write
+     */
+    static void writeInts(DataOutputStream output, int[] array) throws IOException {
+        for(int value : array) {
+            output.writeInt(value);
+        }
+    }
+
+    /**
+     * Method to read int array from buffer
+     * @param buffer buffer positioned at start of array
+     * @param length length of array
+     * @return array
+     */
+    static int[] readInts(IntBuffer buffer, int length) {
+        int[] array = new int[length];
+        buffer.get(array);
+        return array;
+    }
+
+    /**
+     * Checks that array of offsets starts from zero and never decreases
+     * @param offsets array of offsets
+     * @return true if offsets are valid, else false
+     */
+    static boolean isMonotonic(int[] offsets) {
+        if(offsets[0] != 0) {
+            return false;
+        }
+        for(int i = 1; i < offsets.length; i++) {
+            if(offsets[i] < offsets[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to open snapshot file as frozen graph
+     * Counts and offsets are checked before use, so damaged file raises NotSnapshotError instead of other exception
+     * @param path path to file
+     * @return frozen graph
+     */
+    public static FrozenGraph<String> open(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            IntBuffer ints = buffer.asIntBuffer();
+            if(ints.remaining() < HEADER_SIZE || ints.get() != MAGIC || ints.get() != VERSION) {
+                throw new NotSnapshotError(path);
+            }
+            int vertexCount = ints.get();
+            int edgeCount = ints.get();
+            boolean weighted = (ints.get() & WEIGHTED) != 0;
+            // counts are compared in long, so huge values could not overflow
+            long arraysSize = 2 * ((long)vertexCount + 1) + (weighted ? 2L : 1L) * edgeCount;
+            if(vertexCount < 0 || edgeCount < 0 || arraysSize > ints.remaining()) {
+                throw new NotSnapshotError(path);
+            }
+
+            int[] nameOffsets = readInts(ints, vertexCount + 1);
+            int[] offsets = readInts(ints, vertexCount + 1);
+            int[] targets = readInts(ints, edgeCount);
+            int[] weights = weighted ? readInts(ints, edgeCount) : null;
+            long namesStart = (long)ints.position() * Integer.BYTES;
+            if(!isMonotonic(nameOffsets) || namesStart + nameOffsets[vertexCount] > channel.size()
+                    || !isMonotonic(offsets) || offsets[vertexCount] != edgeCount) {
+                throw new NotSnapshotError(path);
+            }
+            for(int target : targets) {
+                if(target < 0 || target >= vertexCount) {
+                    throw new NotSnapshotError(path);
+                }
+            }
+
+            byte[] namesBlock = new byte[nameOffsets[vertexCount]];
+            buffer.position((int)namesStart);
+            buffer.get(namesBlock);
+            Object[] names = new Object[vertexCount];
+            for(int i = 0; i < vertexCount; i++) {
+                names[i] = new String(namesBlock, nameOffsets[i], nameOffsets[i + 1] - nameOffsets[i], StandardCharsets.UTF_8);
+            }
+            return new FrozenGraph<>(names, offsets, targets, weights);
+        }
+    }
+
+    /**
+     * Method to fill mutable graph from snapshot file
+     * @param path path to file
+     * @param graph empty graph to fill
+     * @param <G> type of graph
+     * @return the same graph, filled by data from snapshot
+     */
+    public static <G extends Graph<String>> G load(String path, G graph) throws IOException {
+        FrozenGraph<String> frozen = open(path);
+        int vertexCount = frozen.getVertexCount();
+        List<Graph<String>.Vertex> vertices = new ArrayList<>(vertexCount);
+        for(int i = 0; i < vertexCount; i++) {
+            graph.addData(frozen.getData(i));
+            vertices.add(graph.getVertex(frozen.getData(i)));
+        }
+        // each edge is stored in both its vertices, so it is added once from vertex with smaller id
+        // loop is stored twice in the same vertex, so it is added on every second occurrence of its weight
+        for(int from = 0; from < vertexCount; from++) {
+            Set<Integer> unpairedLoops = new HashSet<>();
+            for(int i = 0; i < frozen.getDegree(from); i++) {
+                int to = frozen.getNeighbour(from, i);
+                int weight = frozen.getWeight(from, i);
+                if(to < from) {
+                    continue;
+                }
+                if(to == from && !unpairedLoops.add(weight)) {
+                    unpairedLoops.remove(weight);
+                    continue;
+                }
+                graph.addEdge(vertices.get(from), vertices.get(to), weight);
+            }
+        }
+        return graph;
+    }
+}
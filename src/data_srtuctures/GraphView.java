@@ -0,0 +1,412 @@
+package data_srtuctures;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Immutable view of graph that hides some edges and vertices
+ * Hidden elements are described by predicates and by sets of removed edges and vertices,
+ * they are checked lazily during traversal, so graph is never copied. Each method that hides something returns new view and leaves this one unchanged.
+ * Views created one from another share sets of removed elements, so chain of edits costs O(1) per edit.
+ * View reflects all later changes of underlying graph
+ */
+public class GraphView<Data extends Comparable<Data>> {
+
+    /**
+     * Removals of chain of views, each removal is stamped by number of view that made it
+     * View sees only removals with numbers not greater than its own. New view continues chain only if it is created
+     * from the newest view of chain, otherwise it starts new chain with copy of removals its parent sees,
+     * so each view stores only its own removals and sequence of edits never copies sets
+     * @param <Data> type of data of graph
+     */
+    private static class Removals<Data extends Comparable<Data>> {
+
+        /**
+         * Removed edges with numbers of views that removed them, both directions of each removed edge are stored
+         */
+        private final Map<Graph<Data>.Edge, Integer> edges = new ConcurrentHashMap<>();
+
+        /**
+         * Removed vertices with numbers of views that removed them
+         */
+        private final Map<Graph<Data>.Vertex, Integer> vertices = new ConcurrentHashMap<>();
+
+        /**
+         * Number of the newest view of chain
+         */
+        private int last = 0;
+
+        /**
+         * Method to start new chain with removals seen by view, they all get number 0
+         * @param number number of view
+         * @return new removals
+         */
+        private Removals<Data> copy(int number) {
+            Removals<Data> copy = new Removals<>();
+            edges.forEach((edge, stamp) -> {
+                if(stamp <= number) {
+                    copy.edges.put(edge, 0);
+                }
+            });
+            vertices.forEach((vertex, stamp) -> {
+                if(stamp <= number) {
+                    copy.vertices.put(vertex, 0);
+                }
+            });
+            return copy;
+        }
+    }
+
+    /**
+     * Underlying graph
+     */
+    private final Graph<Data> graph;
+
+    /**
+     * Removals of chain of this view
+     */
+    private final Removals<Data> removals;
+
+    /**
+     * Number of this view in its chain
+     */
+    private final int number;
+
+    /**
+     * Predicate over data of ends of edge, edge is visible only if it holds in both directions
+     */
+    private final BiPredicate<Data, Data> edgeFilter;
+
+    /**
+     * Predicate over data of vertex, vertex is visible only if it holds
+     */
+    private final Predicate<Data> vertexFilter;
+
+    /**
+     * Constructor of view that shows whole graph
+     * @param graph underlying graph
+     */
+    public GraphView(Graph<Data> graph) {
+        this(graph, new Removals<>(), 0, (from, to) -> true, data -> true);
+    }
+
+    /**
+     * Constructor of view
+     * @param graph underlying graph
+     * @param removals removals of chain of view
+     * @param number number of view in chain
+     * @param edgeFilter predicate of visible edges
+     * @param vertexFilter predicate of visible vertices
+     */
+    private GraphView(Graph<Data> graph, Removals<Data> removals, int number,
+                      BiPredicate<Data, Data> edgeFilter, Predicate<Data> vertexFilter) {
+        this.graph = graph;
+        this.removals = removals;
+        this.number = number;
+        this.edgeFilter = edgeFilter;
+        this.vertexFilter = vertexFilter;
+    }
+
+    /**
+     * Getter of underlying graph
+     * @return graph
+     */
+    public Graph<Data> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Method to create view that removes edges and vertex in addition to removals of this view
+     * @param edges edges to remove, both directions
+     * @param vertex vertex to remove or null
+     * @return new view
+     */
+    private GraphView<Data> derive(List<Graph<Data>.Edge> edges, Graph<Data>.Vertex vertex) {
+        Removals<Data> chain = removals;
+        synchronized(removals) {
+            if(removals.last == number) {  // this view is the newest in chain, so new view continues it
+                int next = ++removals.last;
+                for(Graph<Data>.Edge edge : edges) {
+                    removals.edges.putIfAbsent(edge, next);
+                }
+                if(vertex != null) {
+                    removals.vertices.putIfAbsent(vertex, next);
+                }
+                return new GraphView<>(graph, removals, next, edgeFilter, vertexFilter);
+            }
+            chain = removals.copy(number);
+        }
+        chain.last = 1;
+        for(Graph<Data>.Edge edge : edges) {
+            chain.edges.putIfAbsent(edge, 1);
+        }
+        if(vertex != null) {
+            chain.vertices.putIfAbsent(vertex, 1);
+        }
+        return new GraphView<>(graph, chain, 1, edgeFilter, vertexFilter);
+    }
+
+    /**
+     * Checks is edge removed in this view
+     * @param edge edge of underlying graph
+     * @return true if edge is removed, else false
+     */
+    private boolean isRemoved(Graph<Data>.Edge edge) {
+        Integer stamp = removals.edges.get(edge);
+        return stamp != null && stamp <= number;
+    }
+
+    /**
+     * Checks is vertex removed in this view
+     * @param vertex vertex of underlying graph
+     * @return true if vertex is removed, else false
+     */
+    private boolean isRemoved(Graph<Data>.Vertex vertex) {
+        Integer stamp = removals.vertices.get(vertex);
+        return stamp != null && stamp <= number;
+    }
+
+    /**
+     * Method to find edge that is not removed yet
+     * @param from start vertex
+     * @param to end vertex
+     * @param except edge that must be skipped or null
+     * @return edge or null if there is no such edge
+     */
+    private Graph<Data>.Edge findEdge(Graph<Data>.Vertex from, Graph<Data>.Vertex to, Graph<Data>.Edge except) {
+        for(Graph<Data>.Edge edge : from.getIncidents()) {
+            if(edge.getTo() == to && edge != except && !isRemoved(edge)) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method to create view without one edge
+     * If there are several edges between vertices, only one of them is removed, in the same way as in graph
+     * @param from data of start vertex
+     * @param to data of end vertex
+     * @return new view
+     */
+    public GraphView<Data> withoutEdge(Data from, Data to) {
+        Graph<Data>.Vertex fromVertex = graph.getVertex(from);
+        graph.checkVertex(fromVertex, from);
+        Graph<Data>.Vertex toVertex = graph.getVertex(to);
+        graph.checkVertex(toVertex, to);
+
+        Graph<Data>.Edge edge = findEdge(fromVertex, toVertex, null);
+        if(edge == null || !isVisible(edge)) {
+            throw new Graph.GraphNotContainsThisEdgeError(from.toString(), to.toString());
+        }
+        Graph<Data>.Edge reverse = edge.getReverse();
+        return derive(Arrays.asList(edge, reverse != null ? reverse : findEdge(toVertex, fromVertex, edge)), null);
+    }
+
+    /**
+     * Method to create view without one vertex and all its edges
+     * @param data data of vertex
+     * @return new view
+     */
+    public GraphView<Data> withoutVertex(Data data) {
+        Graph<Data>.Vertex vertex = graph.getVertex(data);
+        graph.checkVertex(vertex, data);
+        return derive(Collections.emptyList(), vertex);
+    }
+
+    /**
+     * Method to create view that also hides edges rejected by predicate
+     * Graph is undirected, so edge is hidden if predicate rejects it in any direction
+     * @param filter predicate over data of start and end vertex of edge
+     * @return new view
+     */
+    public GraphView<Data> filterEdges(BiPredicate<Data, Data> filter) {
+        return new GraphView<>(graph, removals, number, edgeFilter.and(filter), vertexFilter);
+    }
+
+    /**
+     * Method to create view that also hides vertices rejected by predicate
+     * @param filter predicate over data of vertex
+     * @return new view
+     */
+    public GraphView<Data> filterVertices(Predicate<Data> filter) {
+        return new GraphView<>(graph, removals, number, edgeFilter, vertexFilter.and(filter));
+    }
+
+    /**
+     * Checks is vertex visible in this view
+     * @param vertex vertex of underlying graph
+     * @return true if vertex is visible, else false
+     */
+    private boolean isVisible(Graph<Data>.Vertex vertex) {
+        return !isRemoved(vertex) && vertexFilter.test(vertex.getData());
+    }
+
+    /**
+     * Checks is edge visible in this view, start vertex of edge must be visible
+     * @param edge edge of underlying graph
+     * @return true if edge and its end vertex are visible, else false
+     */
+    private boolean isVisible(Graph<Data>.Edge edge) {
+        Data from = edge.getFrom().getData();
+        Data to = edge.getTo().getData();
+        return !isRemoved(edge) && isVisible(edge.getTo())
+                && edgeFilter.test(from, to) && edgeFilter.test(to, from);
+    }
+
+    /**
+     * Method to find visible vertex by data and raise exception if it is not exists in view
+     * @param data data of vertex
+     * @return vertex
+     */
+    private Graph<Data>.Vertex checkVertex(Data data) {
+        Graph<Data>.Vertex vertex = graph.getVertex(data);
+        if(vertex == null || !isVisible(vertex)) {
+            throw new Graph.GraphNotContainsThisVertexError(data.toString());
+        }
+        return vertex;
+    }
+
+    /**
+     * Breadth first search over visible edges, stops when end vertex is reached
+     * @param start start vertex
+     * @param finish vertex to stop at or null to reach all vertices
+     * @param context context of query, parents and distances of reached vertices are set in it
+     * @return quantity of reached vertices
+     */
+    private int traverse(Graph<Data>.Vertex start, Graph<Data>.Vertex finish, TraversalContext context) {
+        int[] queue = context.getBuffer();
+        int head = 0;
+        int tail = 0;
+        int target = finish == null ? -1 : finish.getIndex();
+        queue[tail++] = start.getIndex();
+        context.reach(start.getIndex(), 0, start.getIndex());
+        while(head < tail) {
+            int vertex = queue[head++];
+            if(vertex == target) {
+                break;
+            }
+            int neighbourDistance = context.getDistance(vertex) + 1;
+            for(Graph<Data>.Edge edge : graph.vertices.get(vertex).getIncidents()) {
+                int neighbour = edge.getTo().getIndex();
+                if(context.isReached(neighbour) || !isVisible(edge)) {
+                    continue;
+                }
+                context.reach(neighbour, neighbourDistance, vertex);
+                queue[tail++] = neighbour;
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Dijkstra's algorithm over visible edges, stops when end vertex is settled
+     * Heap can contain old pairs of vertex with greater distance, they are skipped when vertex is already visited
+     * @param start start vertex
+     * @param finish vertex to stop at
+     * @param context context of query, parents and distances of reached vertices are set in it
+     */
+    private void dijkstra(Graph<Data>.Vertex start, Graph<Data>.Vertex finish, TraversalContext context) {
+        IntPayloadHeap heap = context.getPayloadHeap();
+        context.reach(start.getIndex(), 0, start.getIndex());
+        heap.add(0, start.getIndex());
+        while(!heap.isEmpty()) {
+            int vertex = heap.getMin();
+            if(context.isVisited(vertex)) {
+                continue;
+            }
+            if(vertex == finish.getIndex()) {
+                break;
+            }
+            context.setVisited(vertex);
+            for(Graph<Data>.Edge edge : graph.vertices.get(vertex).getIncidents()) {
+                int neighbour = edge.getTo().getIndex();
+                if(context.isVisited(neighbour) || !isVisible(edge)) {
+                    continue;
+                }
+                int neighbourDistance = context.getDistance(vertex) + edge.getWeight();
+                if(neighbourDistance < context.getDistance(neighbour)) {
+                    context.reach(neighbour, neighbourDistance, vertex);
+                    heap.add(neighbourDistance, neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Breadth first search algorithm over visible part of graph
+     * @param from data of start vertex
+     * @return set of indexes of all vertices reachable from start vertex
+     */
+    public BitSet bfs(Data from) {
+        Graph<Data>.Vertex start = checkVertex(from);
+        TraversalContext context = graph.newQuery();
+        traverse(start, null, context);
+        BitSet reached = new BitSet(graph.vertices.size());
+        for(int i = 0; i < graph.vertices.size(); i++) {
+            if(context.isReached(i)) {
+                reached.set(i);
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Method to check if all visible vertices can be reached from given vertex
+     * @param from data of start vertex
+     * @return true if all visible vertices are reachable, else false
+     */
+    public boolean isAllReachableFrom(Data from) {
+        Graph<Data>.Vertex start = checkVertex(from);
+        int visible = 0;
+        for(Graph<Data>.Vertex vertex : graph.vertices) {
+            if(vertex != null && isVisible(vertex)) {
+                visible++;
+            }
+        }
+        return traverse(start, null, graph.newQuery()) == visible;
+    }
+
+    /**
+     * Method to check if one vertex can be reached from other one
+     * @param from data of start vertex
+     * @param to data of end vertex
+     * @return true if there is path between vertices, else false
+     */
+    public boolean isReachable(Data from, Data to) {
+        Graph<Data>.Vertex start = checkVertex(from);
+        Graph<Data>.Vertex finish = checkVertex(to);
+        TraversalContext context = graph.newQuery();
+        traverse(start, finish, context);
+        return context.isReached(finish.getIndex());
+    }
+
+    /**
+     * Method to find shortest path over visible part of graph
+     * Path is found by Dijkstra's algorithm if graph is weighted, else by breadth first search
+     * @param from data of first vertex in the path
+     * @param to data of last vertex in the path
+     * @return path
+     */
+    public Graph<Data>.Path shortestPath(Data from, Data to) {
+        Graph<Data>.Vertex start = checkVertex(from);
+        Graph<Data>.Vertex finish = checkVertex(to);
+        TraversalContext context = graph.newQuery();
+        if(graph.isWeighted()) {
+            dijkstra(start, finish, context);
+        }
+        else {
+            traverse(start, finish, context);
+        }
+        if(!context.isReached(finish.getIndex())) {
+            throw new Graph.GraphNotContainsPathError(from.toString(), to.toString());
+        }
+        return graph.getPath(finish.getIndex(), context);
+    }
+}
@@ -0,0 +1,17 @@
+package data_srtuctures;
+
+/**
+ * Estimate of distance between vertices for A* search
+ * Estimate must never exceed real distance and must be consistent:
+ * estimate(u, t) <= weight(u, v) + estimate(v, t) for every edge (u, v), otherwise found path can be not shortest
+ */
+public interface Heuristic {
+
+    /**
+     * Method to estimate distance
+     * @param vertex index of vertex
+     * @param target index of end vertex of search
+     * @return estimate of distance from vertex to end vertex
+     */
+    int estimate(int vertex, int target);
+}
@@ -0,0 +1,325 @@
+package data_srtuctures;
+
+/**
+ * Array-based Min Binary Heap of integer elements with separate keys
+ * Every element is a non negative int (for example index of vertex in graph) and
+ * heap stores position of each element, so key of element that already in heap can be changed
+ */
+public class IndexedHeap<T extends Comparable<T>> {
+
+    /**
+     * Exception that raises on access to element that is not contained in heap
+     */
+    public static class HeapNotContainsThisElementError extends Error {
+        public HeapNotContainsThisElementError(int element) {
+            super("Heap not contains element: " + element);
+        }
+    }
+
+    /**
+     * Exception that raises on adding element that already contained in heap
+     */
+    public static class HeapAlreadyContainsThisElementError extends Error {
+        public HeapAlreadyContainsThisElementError(int element) {
+            super("Heap already contains element: " + element);
+        }
+    }
+
+    /**
+     * Elements in heap order
+     */
+    private int[] heap;
+
+    /**
+     * Position of each element in heap array, -1 if element is not in heap
+     */
+    private int[] positions;
+
+    /**
+     * Key of each element, indexed by element
+     */
+    private Object[] keys;
+
+    /**
+     * Variable to store current quantity of elements in heap
+     */
+    private int size;
+
+    /**
+     * Constant default heap storage size
+     * Using if size not defined at Heap creation
+     */
+    private static final int DEFAULT_INITIAL_SIZE = 8;
+
+    /**
+     * Factor of increasing of storage
+     */
+    private static final int DEFAULT_INCREASE_FACTOR = 2;
+
+    /**
+     * New heap constructor
+     * @param capacity expected maximal element plus one
+     */
+    public IndexedHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        size = 0;
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new Object[capacity];
+        for(int i = 0; i < capacity; i++) {
+            positions[i] = -1;
+        }
+    }
+
+    /**
+     * Constructor with default size of elements warehouse
+     */
+    public IndexedHeap() {
+        this(DEFAULT_INITIAL_SIZE);
+    }
+
+    /**
+     * Returns is heap empty
+     * @return true if heap empty, else false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Getter of quantity of elements in heap
+     * @return quantity of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements, storage is kept for reuse
+     * Works in time proportional to quantity of elements in heap, not to its capacity
+     */
+    public void clear() {
+        for(int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+            keys[heap[i]] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Increases the size of arrays so element can be stored
+     * @param element element that should fit
+     */
+    private void checkAndAllocate(int element) {
+        if(element < positions.length) {
+            return;
+        }
+        int capacity = positions.length;
+        while(capacity <= element) {
+            capacity *= DEFAULT_INCREASE_FACTOR;
+        }
+        int[] tempHeap = new int[capacity];
+        System.arraycopy(heap, 0, tempHeap, 0, size);
+        heap = tempHeap;
+
+        int[] tempPositions = new int[capacity];
+        System.arraycopy(positions, 0, tempPositions, 0, positions.length);
+        for(int i = positions.length; i < capacity; i++) {
+            tempPositions[i] = -1;
+        }
+        positions = tempPositions;
+
+        Object[] tempKeys = new Object[capacity];
+        System.arraycopy(keys, 0, tempKeys, 0, keys.length);
+        keys = tempKeys;
+    }
+
+    /**
+     * Insertion method for Heap
+     * @param element element to add
+     * @param key key of element
+     */
+    public void add(int element, T key) {
+        checkAndAllocate(element);
+        if(positions[element] != -1) {
+            throw new HeapAlreadyContainsThisElementError(element);
+        }
+        keys[element] = key;
+        heap[size] = element;
+        positions[element] = size;
+        size++;
+        raiseElement(size - 1);
+    }
+
+    /**
+     * Checks is element contained in heap
+     * @param element element to check
+     * @return true if heap contains element, else false
+     */
+    public boolean contains(int element) {
+        return element >= 0 && element < positions.length && positions[element] != -1;
+    }
+
+    /**
+     * Method to raise exception if element is not contained in heap
+     * @param element element to check
+     */
+    private void checkElement(int element) {
+        if(!contains(element)) {
+            throw new HeapNotContainsThisElementError(element);
+        }
+    }
+
+    /**
+     * Getter of key of element
+     * @param element element contained in heap
+     * @return key of element
+     */
+    public T getKey(int element) {
+        checkElement(element);
+        return (T)keys[element];
+    }
+
+    /**
+     * Sets smaller key to element that already in heap
+     * @param element element to change
+     * @param key new key, must be not greater than current
+     */
+    public void decreaseKey(int element, T key) {
+        checkElement(element);
+        keys[element] = key;
+        raiseElement(positions[element]);
+    }
+
+    /**
+     * Sets greater key to element that already in heap
+     * @param element element to change
+     * @param key new key, must be not less than current
+     */
+    public void increaseKey(int element, T key) {
+        checkElement(element);
+        keys[element] = key;
+        heapify(positions[element]);
+    }
+
+    /**
+     * Sets any key to element, adds element if it is not in heap yet
+     * @param element element to change
+     * @param key new key
+     */
+    public void update(int element, T key) {
+        if(!contains(element)) {
+            add(element, key);
+            return;
+        }
+        keys[element] = key;
+        raiseElement(positions[element]);
+        heapify(positions[element]);
+    }
+
+    /**
+     * Removes element from any position of heap
+     * @param element element to remove
+     */
+    public void remove(int element) {
+        checkElement(element);
+        int position = positions[element];
+        swap(position, size - 1);
+        size--;
+        positions[element] = -1;
+        keys[element] = null;
+        if(position < size) {
+            raiseElement(position);
+            heapify(position);
+        }
+    }
+
+    /**
+     * Compares keys of elements at two positions of heap
+     * @param i first position
+     * @param j second position
+     * @return result of comparison of keys
+     */
+    private int compare(int i, int j) {
+        return ((T)keys[heap[i]]).compareTo((T)keys[heap[j]]);
+    }
+
+    /**
+     * Method to change two elements in heap and update its positions
+     * @param i first position
+     * @param j second position
+     */
+    private void swap(int i, int j) {
+        int temp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = temp;
+        positions[heap[i]] = i;
+        positions[heap[j]] = j;
+    }
+
+    /**
+     * Method to raise element
+     * @param start position of element to raise
+     */
+    private void raiseElement(int start) {
+        int i = start;
+        int parent = (i - 1) / 2;
+
+        while (i > 0 && compare(parent, i) > 0) {
+            swap(i, parent);
+            i = parent;
+            parent = (i - 1) / 2;
+        }
+    }
+
+    /**
+     * Method to rebuild heap with main heap property
+     * @param start position from which start
+     */
+    private void heapify(int start) {
+        int i = start;
+        int leftChild;
+        int rightChild;
+        int smallestChild;
+
+        while(true) {
+            leftChild = 2 * i + 1;
+            rightChild = 2 * i + 2;
+            smallestChild = i;
+            if(leftChild < size && compare(leftChild, smallestChild) < 0) {
+                smallestChild = leftChild;
+            }
+            if(rightChild < size && compare(rightChild, smallestChild) < 0) {
+                smallestChild = rightChild;
+            }
+
+            if(smallestChild == i) {
+                break;
+            }
+
+            swap(i, smallestChild);
+            i = smallestChild;
+        }
+    }
+
+    /**
+     * Returns element with minimal key without removing it
+     * @return element with minimal key
+     */
+    public int peekMin() {
+        if(isEmpty()) {
+            throw new Heap.HeapIsEmptyError();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Main method of Heap-getting element with minimal key
+     * @return element with minimal key
+     */
+    public int getMin() {
+        int result = peekMin();
+        remove(result);
+        return result;
+    }
+}
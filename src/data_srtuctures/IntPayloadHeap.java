@@ -0,0 +1,168 @@
+package data_srtuctures;
+
+/**
+ * Array-based Min Binary Heap of pairs of primitive int key and int payload
+ * Useful for priority queues of vertex indexes keyed by distance, that should not box values
+ */
+public class IntPayloadHeap {
+
+    /**
+     * Private array to store keys of heap elements
+     */
+    private int[] keys;
+
+    /**
+     * Private array to store payloads of heap elements, in the same order as keys
+     */
+    private int[] values;
+
+    /**
+     * Variable to store current quantity of elements in heap
+     */
+    private int size;
+
+    /**
+     * Constant default heap storage size
+     * Using if size not defined at Heap creation
+     */
+    private static final int DEFAULT_INITIAL_SIZE = 8;
+
+    /**
+     * Factor of increasing of storage
+     */
+    private static final int DEFAULT_INCREASE_FACTOR = 2;
+
+    /**
+     * New heap constructor
+     * @param initSize size of initiated arrays of elements
+     */
+    public IntPayloadHeap(int initSize) {
+        size = 0;
+        keys = new int[Math.max(initSize, 1)];
+        values = new int[keys.length];
+    }
+
+    /**
+     * Constructor with default size of elements warehouse
+     */
+    public IntPayloadHeap() {
+        this(DEFAULT_INITIAL_SIZE);
+    }
+
+    /**
+     * Returns is heap empty
+     * @return true if heap empty, else false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Getter of quantity of elements in heap
+     * @return quantity of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements, storage is kept for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Increases the size of arrays, if needed
+     */
+    private void checkAndAllocate() {
+        if(size == keys.length) {
+            int[] tempKeys = new int[keys.length * DEFAULT_INCREASE_FACTOR];
+            System.arraycopy(keys, 0, tempKeys, 0, size);
+            keys = tempKeys;
+            int[] tempValues = new int[tempKeys.length];
+            System.arraycopy(values, 0, tempValues, 0, size);
+            values = tempValues;
+        }
+    }
+
+    /**
+     * Insertion method for Heap
+     * @param key key of element
+     * @param value payload of element
+     */
+    public void add(int key, int value) {
+        checkAndAllocate();
+        int i = size++;
+        int parent = (i - 1) / 2;
+        while(i > 0 && key < keys[parent]) {
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+            parent = (i - 1) / 2;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Returns minimal key without removing element
+     * @return minimal key
+     */
+    public int peekMinKey() {
+        if(isEmpty()) {
+            throw new Heap.HeapIsEmptyError();
+        }
+        return keys[0];
+    }
+
+    /**
+     * Returns payload of element with minimal key without removing it
+     * @return payload of element with minimal key
+     */
+    public int peekMin() {
+        if(isEmpty()) {
+            throw new Heap.HeapIsEmptyError();
+        }
+        return values[0];
+    }
+
+    /**
+     * Main method of Heap-getting element with minimal key
+     * Key of this element can be read by peekMinKey before the call
+     * @return payload of element with minimal key
+     */
+    public int getMin() {
+        int result = peekMin();
+        size--;
+        if(size > 0) {
+            heapify(keys[size], values[size]);
+        }
+        return result;
+    }
+
+    /**
+     * Puts element to the root and sifts it down until heap property holds
+     * @param key key to place
+     * @param value payload to place
+     */
+    private void heapify(int key, int value) {
+        int i = 0;
+        int half = size / 2;
+        while(i < half) {
+            int child = 2 * i + 1;
+            int rightChild = child + 1;
+            if(rightChild < size && keys[rightChild] < keys[child]) {
+                child = rightChild;
+            }
+            if(key <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+}
@@ -0,0 +1,217 @@
+package data_srtuctures;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Bit-parallel breadth first search from many start vertices of unweighted graph
+ * Start vertices are processed in batches of 64, each vertex has long masks of searches that have seen it
+ * and that visit it on current level, so one pass over edges of frontier expands all searches of batch at once.
+ * Batches run in parallel. Weights of edges are ignored, distances are quantities of edges
+ */
+public class MultiSourceBfs<Data extends Comparable<Data>> {
+
+    /**
+     * Quantity of searches in one batch, one bit of long mask for each
+     */
+    private static final int BATCH_SIZE = Long.SIZE;
+
+    /**
+     * Receiver of vertices reached by searches of batch
+     */
+    private interface LevelVisitor {
+
+        /**
+         * Called once for each vertex on each level where some searches reach it first time
+         * @param vertex id of vertex
+         * @param sources mask of searches of batch that reach vertex
+         * @param level distance from start vertices of these searches
+         */
+        void visit(int vertex, long sources, int level);
+    }
+
+    /**
+     * Graph to search
+     */
+    private final FrozenGraph<Data> graph;
+
+    /**
+     * Constructor of search
+     * @param graph frozen graph to search
+     */
+    public MultiSourceBfs(FrozenGraph<Data> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Constructor of search
+     * @param graph graph to search, it is frozen once at creation
+     */
+    public MultiSourceBfs(Graph<Data> graph) {
+        this(graph.freeze());
+    }
+
+    /**
+     * Method to run one batch of searches
+     * @param sources ids of start vertices
+     * @param begin first start vertex of batch
+     * @param end start vertex after last one of batch
+     * @param visitor receiver of reached vertices
+     */
+    private void runBatch(int[] sources, int begin, int end, LevelVisitor visitor) {
+        int vertexCount = graph.getVertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        long[] seen = new long[vertexCount];
+        long[] visit = new long[vertexCount];
+        long[] visitNext = new long[vertexCount];
+        // vertices with not empty masks of current and next level, so levels do not scan whole graph
+        int[] frontier = new int[vertexCount];
+        int[] nextFrontier = new int[vertexCount];
+        int size = 0;
+        for(int i = begin; i < end; i++) {
+            if(visit[sources[i]] == 0) {
+                frontier[size++] = sources[i];
+            }
+            long bit = 1L << (i - begin);
+            seen[sources[i]] |= bit;
+            visit[sources[i]] |= bit;
+        }
+        for(int i = 0; i < size; i++) {
+            visitor.visit(frontier[i], visit[frontier[i]], 0);
+        }
+
+        for(int level = 1; size > 0; level++) {
+            int nextSize = 0;
+            for(int k = 0; k < size; k++) {
+                int vertex = frontier[k];
+                long mask = visit[vertex];
+                visit[vertex] = 0;
+                for(int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                    int neighbour = targets[i];
+                    long reached = mask & ~seen[neighbour];
+                    if(reached == 0) {
+                        continue;
+                    }
+                    if(visitNext[neighbour] == 0) {
+                        nextFrontier[nextSize++] = neighbour;
+                    }
+                    visitNext[neighbour] |= reached;
+                }
+            }
+            for(int k = 0; k < nextSize; k++) {
+                int vertex = nextFrontier[k];
+                long mask = visitNext[vertex];
+                visitNext[vertex] = 0;
+                visit[vertex] = mask;
+                seen[vertex] |= mask;
+                visitor.visit(vertex, mask, level);
+            }
+            int[] swap = frontier;
+            frontier = nextFrontier;
+            nextFrontier = swap;
+            size = nextSize;
+        }
+    }
+
+    /**
+     * Method to run searches from all start vertices, batches run in parallel
+     * @param sources ids of start vertices
+     * @param visitors factory of receivers for batches, takes number of first start vertex of batch
+     */
+    private void run(int[] sources, IntFunction<LevelVisitor> visitors) {
+        int batches = (sources.length + BATCH_SIZE - 1) / BATCH_SIZE;
+        IntStream.range(0, batches).parallel().forEach(batch -> {
+            int begin = batch * BATCH_SIZE;
+            int end = Math.min(begin + BATCH_SIZE, sources.length);
+            runBatch(sources, begin, end, visitors.apply(begin));
+        });
+    }
+
+    /**
+     * Method to find distances from many start vertices to all vertices
+     * @param sources ids of start vertices
+     * @return table, where row i contains distances from start vertex i to vertices by their ids,
+     * Integer.MAX_VALUE for unreachable vertices
+     */
+    public int[][] getDistances(int[] sources) {
+        int[][] distances = new int[sources.length][graph.getVertexCount()];
+        for(int[] row : distances) {
+            Arrays.fill(row, Integer.MAX_VALUE);
+        }
+        run(sources, begin -> (vertex, mask, level) -> {
+            for(long rest = mask; rest != 0; rest &= rest - 1) {
+                distances[begin + Long.numberOfTrailingZeros(rest)][vertex] = level;
+            }
+        });
+        return distances;
+    }
+
+    /**
+     * Method to find quantities of vertices reachable from many start vertices
+     * @param sources ids of start vertices
+     * @return quantities of reachable vertices, including start vertex itself
+     */
+    public int[] getReachedCounts(int[] sources) {
+        int[] counts = new int[sources.length];
+        run(sources, begin -> (vertex, mask, level) -> {
+            for(long rest = mask; rest != 0; rest &= rest - 1) {
+                counts[begin + Long.numberOfTrailingZeros(rest)]++;
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Method to check for many start vertices if all vertices of graph can be reached from them
+     * @param sources ids of start vertices
+     * @return true for start vertices, from which all vertices are reachable
+     */
+    public boolean[] reachesAll(int[] sources) {
+        int[] counts = getReachedCounts(sources);
+        boolean[] result = new boolean[sources.length];
+        for(int i = 0; i < sources.length; i++) {
+            result[i] = counts[i] == graph.getVertexCount();
+        }
+        return result;
+    }
+
+    /**
+     * Method to find sums of distances from many start vertices to all reachable vertices
+     * @param sources ids of start vertices
+     * @return sums of distances
+     */
+    public long[] getDistanceSums(int[] sources) {
+        long[] sums = new long[sources.length];
+        run(sources, begin -> (vertex, mask, level) -> {
+            for(long rest = mask; rest != 0; rest &= rest - 1) {
+                sums[begin + Long.numberOfTrailingZeros(rest)] += level;
+            }
+        });
+        return sums;
+    }
+
+    /**
+     * Method to find closeness centrality of many vertices
+     * Closeness is quantity of other reachable vertices divided by sum of distances to them
+     * @param sources ids of vertices
+     * @return closeness of vertices, 0 for vertices without reachable neighbours
+     */
+    public double[] getCloseness(int[] sources) {
+        long[] sums = new long[sources.length];
+        int[] counts = new int[sources.length];
+        run(sources, begin -> (vertex, mask, level) -> {
+            for(long rest = mask; rest != 0; rest &= rest - 1) {
+                int source = begin + Long.numberOfTrailingZeros(rest);
+                sums[source] += level;
+                counts[source]++;
+            }
+        });
+        double[] closeness = new double[sources.length];
+        for(int i = 0; i < sources.length; i++) {
+            closeness[i] = sums[i] == 0 ? 0 : (counts[i] - 1) / (double)sums[i];
+        }
+        return closeness;
+    }
+}
@@ -0,0 +1,133 @@
+package data_srtuctures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Thread-safe service to answer batches of shortest path queries
+ * Queries are evaluated in parallel on fork-join pool against frozen copy of graph,
+ * so changes of original graph after service creation do not affect answers
+ */
+public class ShortestPathService<Data extends Comparable<Data>> {
+
+    /**
+     * Quantity of queries that one task evaluates without splitting
+     */
+    private static final int QUERIES_PER_TASK = 16;
+
+    /**
+     * Immutable copy of graph
+     */
+    private final FrozenGraph<Data> graph;
+
+    /**
+     * Pool to evaluate queries
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor of service
+     * @param graph frozen graph to query
+     * @param pool pool to evaluate queries
+     */
+    public ShortestPathService(FrozenGraph<Data> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructor of service that uses common pool
+     * @param graph graph to query, it is frozen once at creation
+     */
+    public ShortestPathService(Graph<Data> graph) {
+        this(graph.freeze(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Method to format path in the same way as results of problem C are printed:
+     * quantity of edges and then all vertices of path, each followed by whitespace
+     * @param path vertices of path
+     * @return formatted path
+     */
+    public static <Data> String format(List<Data> path) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(path.size() - 1).append(' ');
+        for(Data data : path) {
+            builder.append(data).append(' ');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Method to answer one query
+     * @param from data of first vertex of path
+     * @param to data of last vertex of path
+     * @return formatted path or empty string if one of vertices is not exists or there is no path
+     */
+    public String query(Data from, Data to) {
+        try {
+            return format(graph.shortestPath(from, to));
+        }
+        catch (Graph.GraphNotContainsThisVertexError | Graph.GraphNotContainsPathError ex) {
+            return "";
+        }
+    }
+
+    /**
+     * Method to answer batch of queries in parallel
+     * @param from data of first vertices of paths
+     * @param to data of last vertices of paths, in the same order as first vertices
+     * @return formatted paths in the same order as queries
+     */
+    public List<String> query(List<Data> from, List<Data> to) {
+        if(from.size() != to.size()) {
+            throw new IllegalArgumentException("Quantity of start and end vertices differs");
+        }
+        String[] results = new String[from.size()];
+        pool.invoke(new QueryTask(from, to, results, 0, results.length));
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Task that answers range of queries, splitting it in halves while range is big
+     */
+    private class QueryTask extends RecursiveAction {
+        private final List<Data> from;
+        private final List<Data> to;
+        private final String[] results;
+        private final int begin;
+        private final int end;
+
+        /**
+         * Constructor of task
+         * @param from data of first vertices of paths
+         * @param to data of last vertices of paths
+         * @param results array to store formatted paths
+         * @param begin first query of range
+         * @param end query after last query of range
+         */
+        QueryTask(List<Data> from, List<Data> to, String[] results, int begin, int end) {
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - begin <= QUERIES_PER_TASK) {
+                for(int i = begin; i < end; i++) {
+                    results[i] = query(from.get(i), to.get(i));
+                }
+                return;
+            }
+            int middle = (begin + end) >>> 1;
+            invokeAll(new QueryTask(from, to, results, begin, middle),
+                    new QueryTask(from, to, results, middle, end));
+        }
+    }
+}
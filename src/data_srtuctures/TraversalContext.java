@@ -0,0 +1,283 @@
+package data_srtuctures;
+
+import java.util.Arrays;
+
+/**
+ * State of one graph query: visited marks, distances and parents of vertices
+ * Marks are stamped with number of current query (epoch), so reset for the next query is O(1)
+ * and arrays are reused between queries. One context must be used only by one thread at time
+ */
+public class TraversalContext {
+
+    /**
+     * Number of current query
+     */
+    private int epoch = 0;
+
+    /**
+     * Epoch in which vertex was visited
+     */
+    private int[] visited = new int[0];
+
+    /**
+     * Epoch in which distance and parent of vertex were set
+     * First array is used by forward search, second by backward search of bidirectional query
+     */
+    private int[][] reached = new int[2][0];
+
+    /**
+     * Distances to vertices, valid only if vertex reached in current epoch
+     */
+    private int[][] distances = new int[2][0];
+
+    /**
+     * Parents of vertices, valid only if vertex reached in current epoch
+     */
+    private int[][] parents = new int[2][0];
+
+    /**
+     * Buffers for stack or queue of vertices
+     */
+    private int[][] buffers = new int[2][0];
+
+    /**
+     * Heap of pairs of distance and vertex
+     */
+    private IntPayloadHeap payloadHeap = new IntPayloadHeap();
+
+    /**
+     * Starts new query, all vertices become not visited and not reached
+     * @param vertexCount quantity of vertices in graph
+     */
+    public void reset(int vertexCount) {
+        if(visited.length < vertexCount) {
+            visited = new int[vertexCount];
+            for(int side = 0; side < 2; side++) {
+                reached[side] = new int[vertexCount];
+                distances[side] = new int[vertexCount];
+                parents[side] = new int[vertexCount];
+                buffers[side] = new int[vertexCount];
+            }
+        }
+        epoch++;
+        if(epoch == Integer.MAX_VALUE) {  // old stamps could be equal to new epoch after overflow
+            Arrays.fill(visited, 0);
+            Arrays.fill(reached[0], 0);
+            Arrays.fill(reached[1], 0);
+            epoch = 1;
+        }
+        payloadHeap.clear();
+    }
+
+    /**
+     * Checks is vertex visited in current query
+     * @param vertex index of vertex
+     * @return true if visited, else false
+     */
+    public boolean isVisited(int vertex) {
+        return visited[vertex] == epoch;
+    }
+
+    /**
+     * Method to set vertex visited in current query
+     * @param vertex index of vertex
+     */
+    public void setVisited(int vertex) {
+        visited[vertex] = epoch;
+    }
+
+    /**
+     * Checks is distance to vertex known in current query
+     * @param vertex index of vertex
+     * @return true if vertex reached, else false
+     */
+    public boolean isReached(int vertex) {
+        return isReached(vertex, false);
+    }
+
+    /**
+     * Checks is distance to vertex known in current query
+     * @param vertex index of vertex
+     * @param backward true for backward search of bidirectional query
+     * @return true if vertex reached, else false
+     */
+    public boolean isReached(int vertex, boolean backward) {
+        return reached[backward ? 1 : 0][vertex] == epoch;
+    }
+
+    /**
+     * Getter of distance
+     * @param vertex index of vertex
+     * @return distance to vertex or Integer.MAX_VALUE as infinity if vertex not reached
+     */
+    public int getDistance(int vertex) {
+        return getDistance(vertex, false);
+    }
+
+    /**
+     * Getter of distance
+     * @param vertex index of vertex
+     * @param backward true for backward search of bidirectional query
+     * @return distance to vertex or Integer.MAX_VALUE as infinity if vertex not reached
+     */
+    public int getDistance(int vertex, boolean backward) {
+        int side = backward ? 1 : 0;
+        return reached[side][vertex] == epoch ? distances[side][vertex] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Getter of parent
+     * @param vertex index of vertex
+     * @return index of previous vertex in path to vertex or -1 if vertex not reached
+     */
+    public int getParent(int vertex) {
+        return getParent(vertex, false);
+    }
+
+    /**
+     * Getter of parent
+     * @param vertex index of vertex
+     * @param backward true for backward search of bidirectional query
+     * @return index of previous vertex in path to vertex or -1 if vertex not reached
+     */
+    public int getParent(int vertex, boolean backward) {
+        int side = backward ? 1 : 0;
+        return reached[side][vertex] == epoch ? parents[side][vertex] : -1;
+    }
+
+    /**
+     * Sets distance and parent of vertex
+     * @param vertex index of vertex
+     * @param distance distance to vertex
+     * @param parent index of previous vertex in path, start vertex is parent of itself
+     */
+    public void reach(int vertex, int distance, int parent) {
+        reach(vertex, distance, parent, false);
+    }
+
+    /**
+     * Sets distance and parent of vertex
+     * @param vertex index of vertex
+     * @param distance distance to vertex
+     * @param parent index of previous vertex in path, start vertex is parent of itself
+     * @param backward true for backward search of bidirectional query
+     */
+    public void reach(int vertex, int distance, int parent, boolean backward) {
+        int side = backward ? 1 : 0;
+        reached[side][vertex] = epoch;
+        distances[side][vertex] = distance;
+        parents[side][vertex] = parent;
+    }
+
+    /**
+     * Getter of buffer that can hold every vertex of graph once
+     * @return buffer for stack or queue
+     */
+    public int[] getBuffer() {
+        return buffers[0];
+    }
+
+    /**
+     * Getter of buffer that can hold every vertex of graph once
+     * @param backward true for buffer of backward search of bidirectional query
+     * @return buffer for stack or queue
+     */
+    public int[] getBuffer(boolean backward) {
+        return buffers[backward ? 1 : 0];
+    }
+
+    /**
+     * Getter of empty heap of pairs of distance and vertex
+     * @return heap
+     */
+    public IntPayloadHeap getPayloadHeap() {
+        return payloadHeap;
+    }
+
+    /**
+     * Method to build path by parents: from start of forward search to given vertex and then,
+     * if vertex is reached by backward search, from it to start of backward search
+     * Start vertex of each search must be parent of itself
+     * @param meeting index of last vertex of forward part of path
+     * @return indexes of all vertices in path
+     */
+    public int[] getPath(int meeting) {
+        int position = 0;
+        for(int vertex = meeting; parents[0][vertex] != vertex; vertex = parents[0][vertex]) {
+            position++;
+        }
+        int length = position + 1;
+        if(isReached(meeting, true)) {
+            for(int vertex = meeting; parents[1][vertex] != vertex; vertex = parents[1][vertex]) {
+                length++;
+            }
+        }
+        int[] path = new int[length];
+        for(int vertex = meeting, i = position; i >= 0; vertex = parents[0][vertex], i--) {
+            path[i] = vertex;
+        }
+        for(int vertex = meeting, i = position; i < length; vertex = parents[1][vertex], i++) {
+            path[i] = vertex;
+        }
+        return path;
+    }
+
+    /**
+     * Bidirectional breadth first search, searches go level by level from both ends,
+     * each time the side with smaller frontier is expanded, and stop at first vertex reached by both of them
+     * Context must be reset for graph before search, path is built by getPath from returned vertex
+     * @param from index of first vertex in the path
+     * @param to index of last vertex in the path
+     * @param graph neighbours of vertices
+     * @return index of vertex where searches met or -1 if there is no path
+     */
+    public int bidirectionalSearch(int from, int to, Adjacency graph) {
+        int[] forwardQueue = buffers[0];
+        int[] backwardQueue = buffers[1];
+        int[] forwardBounds = {0, 1};
+        int[] backwardBounds = {0, 1};
+        forwardQueue[0] = from;
+        backwardQueue[0] = to;
+        reach(from, 0, from, false);
+        reach(to, 0, to, true);
+
+        int meeting = from == to ? from : -1;
+        while(meeting == -1 && forwardBounds[0] < forwardBounds[1] && backwardBounds[0] < backwardBounds[1]) {
+            if(forwardBounds[1] - forwardBounds[0] <= backwardBounds[1] - backwardBounds[0]) {
+                meeting = expandLevel(forwardQueue, forwardBounds, false, graph);
+            }
+            else {
+                meeting = expandLevel(backwardQueue, backwardBounds, true, graph);
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Expands one whole level of breadth first search from one side of bidirectional search
+     * @param queue queue of this side
+     * @param bounds head and tail of queue of this side
+     * @param backward true if this side starts from last vertex of path
+     * @param graph neighbours of vertices
+     * @return index of vertex where searches met or -1
+     */
+    private int expandLevel(int[] queue, int[] bounds, boolean backward, Adjacency graph) {
+        int levelEnd = bounds[1];
+        while(bounds[0] < levelEnd) {
+            int vertex = queue[bounds[0]++];
+            int neighbourDistance = getDistance(vertex, backward) + 1;
+            for(int i = 0; i < graph.getDegree(vertex); i++) {
+                int neighbour = graph.getNeighbour(vertex, i);
+                if(isReached(neighbour, backward)) {
+                    continue;
+                }
+                reach(neighbour, neighbourDistance, vertex, backward);
+                if(isReached(neighbour, !backward)) {
+                    return neighbour;
+                }
+                queue[bounds[1]++] = neighbour;
+            }
+        }
+        return -1;
+    }
+}
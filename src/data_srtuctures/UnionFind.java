@@ -0,0 +1,124 @@
+package data_srtuctures;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint set union of int elements from 0 to size
+ * Trees of sets are joined by rank and paths are halved on every search,
+ * so each operation runs in amortized almost constant time (inverse Ackermann function of quantity of elements)
+ */
+public class UnionFind {
+
+    /**
+     * Parent of each element, root of set is parent of itself
+     */
+    private int[] parents;
+
+    /**
+     * Upper bound of height of tree of each root
+     */
+    private int[] ranks;
+
+    /**
+     * Quantity of elements
+     */
+    private int size = 0;
+
+    /**
+     * Quantity of sets
+     */
+    private int count = 0;
+
+    /**
+     * Constructor of union-find, each element is in its own set
+     * @param size quantity of elements
+     */
+    public UnionFind(int size) {
+        parents = new int[Math.max(size, 16)];
+        ranks = new int[parents.length];
+        for(int i = 0; i < size; i++) {
+            add();
+        }
+    }
+
+    /**
+     * Method to add new element in its own set
+     * @return new element
+     */
+    public int add() {
+        if(size == parents.length) {
+            parents = Arrays.copyOf(parents, parents.length * 2);
+            ranks = Arrays.copyOf(ranks, ranks.length * 2);
+        }
+        parents[size] = size;
+        ranks[size] = 0;
+        count++;
+        return size++;
+    }
+
+    /**
+     * Method to find root of set of element
+     * Every element on the way is linked to its grandparent
+     * @param element element
+     * @return root of set
+     */
+    public int find(int element) {
+        while(parents[element] != element) {
+            parents[element] = parents[parents[element]];
+            element = parents[element];
+        }
+        return element;
+    }
+
+    /**
+     * Method to join sets of two elements
+     * @param first first element
+     * @param second second element
+     * @return true if elements were in different sets, else false
+     */
+    public boolean union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if(firstRoot == secondRoot) {
+            return false;
+        }
+        if(ranks[firstRoot] < ranks[secondRoot]) {
+            parents[firstRoot] = secondRoot;
+        }
+        else if(ranks[firstRoot] > ranks[secondRoot]) {
+            parents[secondRoot] = firstRoot;
+        }
+        else {
+            parents[secondRoot] = firstRoot;
+            ranks[firstRoot]++;
+        }
+        count--;
+        return true;
+    }
+
+    /**
+     * Checks are two elements in the same set
+     * @param first first element
+     * @param second second element
+     * @return true if elements are in the same set, else false
+     */
+    public boolean isConnected(int first, int second) {
+        return find(first) == find(second);
+    }
+
+    /**
+     * Getter of quantity of sets
+     * @return quantity of sets
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Getter of quantity of elements
+     * @return quantity of elements
+     */
+    public int size() {
+        return size;
+    }
+}